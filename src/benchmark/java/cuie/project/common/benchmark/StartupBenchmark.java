@@ -0,0 +1,95 @@
+package cuie.project.common.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.layout.FlowPane;
+import javafx.scene.text.Font;
+import javafx.stage.Stage;
+
+import cuie.project.common.ResourceRegistry;
+import cuie.project.template_businesscontrol.BusinessControl;
+import cuie.project.template_simplecontrol.Tachometer;
+
+/**
+ * Misst die Zeit fuer das Erzeugen von 500 BusinessControls (inkl. Skin) und 500 Tachometern, bis alle einmal
+ * gelayoutet sind.
+ *
+ * "ohne Registry" entspricht dem frueheren Verhalten: pro Instanz werden alle Fonts neu eingelesen und
+ * alle Stylesheet-URLs neu aufgeloest. "mit Registry" passiert das nur beim ersten Mal.
+ */
+public class StartupBenchmark extends Application {
+    private static final int INSTANCES = 500;
+    private static final int ROUNDS    = 5;
+
+    private static final String[] TACHOMETER_FONTS = {"/fonts/Lato/Lato-Lig.ttf", "/fonts/Lato/Lato-Reg.ttf"};
+
+    private FlowPane root;
+
+    @Override
+    public void start(Stage primaryStage) {
+        root = new FlowPane();
+        primaryStage.setTitle("Startup Benchmark");
+        primaryStage.setScene(new Scene(root, 800, 600));
+        primaryStage.show();
+
+        Platform.runLater(() -> {
+            // Warmup, danach sind alle Fonts in der Registry
+            buildControls(false);
+            buildControls(true);
+
+            for (int i = 0; i < ROUNDS; i++) {
+                long withoutRegistry = buildControls(false);
+                long withRegistry    = buildControls(true);
+                System.out.printf("round %d: without registry %8.1f ms, with registry %8.1f ms%n",
+                                  i, withoutRegistry / 1_000_000.0, withRegistry / 1_000_000.0);
+            }
+            Platform.exit();
+        });
+    }
+
+    private long buildControls(boolean withRegistry) {
+        root.getChildren().clear();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < INSTANCES; i++) {
+            if (!withRegistry) {
+                loadLegacyResources(TACHOMETER_FONTS, Tachometer.class, "style.css");
+            }
+            root.getChildren().add(new Tachometer());
+        }
+        for (int i = 0; i < INSTANCES; i++) {
+            if (!withRegistry) {
+                loadLegacyResources(ResourceRegistry.ALL_FONTS.toArray(new String[0]), BusinessControl.class, "style.css", "dropDownChooser.css");
+            }
+            root.getChildren().add(new BusinessControl());
+        }
+        // erzeugt die Skins der BusinessControls
+        root.applyCss();
+        // die Tachometer erzeugen Gauge, Shapes und Animationen erst beim ersten Layout
+        root.layout();
+
+        return System.nanoTime() - start;
+    }
+
+    private void loadLegacyResources(String[] fonts, Class<?> anchor, String... stylesheets) {
+        for (String font : fonts) {
+            try (InputStream stream = StartupBenchmark.class.getResourceAsStream(font)) {
+                Font.loadFont(stream, 0);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        for (String stylesheet : stylesheets) {
+            anchor.getResource(stylesheet).toExternalForm();
+        }
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
@@ -0,0 +1,78 @@
+package cuie.project.template_businesscontrol.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+
+import cuie.project.template_businesscontrol.BusinessControl;
+
+/**
+ * Misst den Heap, den ein Formular mit 200 BusinessControls pro Feld belegt.
+ *
+ * Zuerst direkt nach dem Aufbau (die Animationen der Skins sind noch nicht erzeugt), danach, nachdem jedes Feld
+ * einmal ungueltig und wieder gueltig war; die Differenz entspricht dem, was bisher jedes Feld schon im
+ * Konstruktor fuer seine Animationen belegt hat.
+ */
+public class FormHeapBenchmark extends Application {
+    private static final int FIELDS = 200;
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    private final List<BusinessControl> fields = new ArrayList<>();
+
+    @Override
+    public void start(Stage primaryStage) {
+        VBox form = new VBox(5);
+
+        primaryStage.setTitle("Form Heap Benchmark");
+        primaryStage.setScene(new Scene(new ScrollPane(form), 400, 800));
+        primaryStage.show();
+
+        long empty = usedHeap();
+        for (int i = 0; i < FIELDS; i++) {
+            BusinessControl field = new BusinessControl();
+            field.setLabel("Feld " + i);
+            fields.add(field);
+        }
+        form.getChildren().addAll(fields);
+        // erzeugt die Skins
+        form.applyCss();
+        form.layout();
+        long built = usedHeap();
+
+        for (BusinessControl field : fields) {
+            field.setUserFacingText("keine Zahl");
+            field.setUserFacingText("42");
+        }
+        long validated = usedHeap();
+
+        System.out.printf("%d fields: %.1f KB per field after build, animations add %.1f KB per field once used%n",
+                          FIELDS,
+                          (built - empty) / 1024.0 / FIELDS,
+                          (validated - built) / 1024.0 / FIELDS);
+
+        Platform.exit();
+    }
+
+    private long usedHeap() {
+        long used = Long.MAX_VALUE;
+        // mehrere Durchgaenge, bis sich der Wert stabilisiert hat
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            used = Math.min(used, memory.getHeapMemoryUsage().getUsed());
+        }
+        return used;
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
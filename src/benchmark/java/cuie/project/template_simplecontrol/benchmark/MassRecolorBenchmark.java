@@ -0,0 +1,89 @@
+package cuie.project.template_simplecontrol.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.layout.TilePane;
+import javafx.scene.paint.Color;
+import javafx.stage.Stage;
+
+import cuie.project.template_simplecontrol.Tachometer;
+
+/**
+ * Faerbt in jedem Frame 1000 Tachometer gleichzeitig um (z.B. Alarm-Zustand fuer den ganzen Park) und misst
+ * die Zeit fuer das Setzen der baseColor sowie die Dauer des darauf folgenden Layout-Passes.
+ */
+public class MassRecolorBenchmark extends Application {
+    private static final int INSTANCES       = 1000;
+    private static final int WARMUP_FRAMES   = 60;
+    private static final int MEASURED_FRAMES = 300;
+
+    private static final Color[] COLORS = {Color.rgb(62, 130, 247), Color.rgb(230, 57, 70), Color.rgb(255, 183, 3)};
+
+    private final List<Tachometer> tachometers = new ArrayList<>();
+
+    private long setNanos;
+    private long layoutNanos;
+    private long layoutStart;
+    private int  frame;
+
+    @Override
+    public void start(Stage primaryStage) {
+        TilePane root = new TilePane();
+        root.setPrefColumns(40);
+        root.setPrefTileWidth(40);
+        root.setPrefTileHeight(27);
+
+        for (int i = 0; i < INSTANCES; i++) {
+            Tachometer tachometer = new Tachometer();
+            tachometer.setOn(true);
+            tachometers.add(tachometer);
+        }
+        root.getChildren().addAll(tachometers);
+
+        Scene scene = new Scene(root, 1600, 700);
+        scene.addPreLayoutPulseListener(() -> layoutStart = System.nanoTime());
+        scene.addPostLayoutPulseListener(() -> {
+            if (frame > WARMUP_FRAMES) {
+                layoutNanos += System.nanoTime() - layoutStart;
+            }
+        });
+
+        primaryStage.setTitle("Mass Recolor Benchmark");
+        primaryStage.setScene(scene);
+        primaryStage.show();
+
+        new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                frame++;
+                if (frame > WARMUP_FRAMES + MEASURED_FRAMES) {
+                    stop();
+                    System.out.printf("%d tachometers, %d frames: setBaseColor %.3f ms/frame, layout pass %.3f ms/frame%n",
+                                      INSTANCES, MEASURED_FRAMES,
+                                      setNanos / 1_000_000.0 / MEASURED_FRAMES,
+                                      layoutNanos / 1_000_000.0 / MEASURED_FRAMES);
+                    Platform.exit();
+                    return;
+                }
+
+                Color color = COLORS[frame % COLORS.length];
+                long  start = System.nanoTime();
+                for (Tachometer tachometer : tachometers) {
+                    tachometer.setBaseColor(color);
+                }
+                if (frame > WARMUP_FRAMES) {
+                    setNanos += System.nanoTime() - start;
+                }
+            }
+        }.start();
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
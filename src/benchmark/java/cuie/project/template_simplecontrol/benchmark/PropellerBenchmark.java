@@ -0,0 +1,130 @@
+package cuie.project.template_simplecontrol.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import javafx.animation.Animation;
+import javafx.animation.AnimationTimer;
+import javafx.animation.Interpolator;
+import javafx.animation.RotateTransition;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.layout.TilePane;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+
+import cuie.project.template_simplecontrol.PulseScheduler;
+import cuie.project.template_simplecontrol.Tachometer;
+
+/**
+ * Laesst die Propeller von 1000 Turbinen drehen und misst die Frame-Zeiten, einmal ueber die gemeinsame
+ * Propeller-Uhr des {@link PulseScheduler} und einmal mit einer eigenen RotateTransition pro Turbine.
+ *
+ * Nur ein Teil der Turbinen ist im Viewport zu sehen; die Uhr dreht nur diese, die RotateTransitions laufen
+ * fuer alle.
+ */
+public class PropellerBenchmark extends Application {
+    private static final int TURBINES        = 1000;
+    private static final int WARMUP_FRAMES   = 60;
+    private static final int MEASURED_FRAMES = 600;
+
+    private final List<Tachometer>       tachometers = new ArrayList<>();
+    private final List<RotateTransition> transitions = new ArrayList<>();
+
+    private long lastFrame;
+    private long frameNanos;
+    private long maxFrameNanos;
+    private int  frame;
+    private int  round;
+
+    @Override
+    public void start(Stage primaryStage) {
+        TilePane tiles = new TilePane();
+        Random   random = new Random(42);
+        for (int i = 0; i < TURBINES; i++) {
+            Tachometer tachometer = new Tachometer();
+            tachometer.setPrefSize(90, 60);
+            tachometer.setAnimated(false);
+            tachometer.setValue(random.nextInt(40000));
+            tachometers.add(tachometer);
+        }
+        tiles.getChildren().addAll(tachometers);
+
+        primaryStage.setTitle("Propeller Benchmark");
+        primaryStage.setScene(new Scene(new ScrollPane(tiles), 1200, 800));
+        primaryStage.show();
+
+        startRound();
+
+        new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                frame++;
+                if (frame > WARMUP_FRAMES && lastFrame > 0) {
+                    long duration = now - lastFrame;
+                    frameNanos += duration;
+                    maxFrameNanos = Math.max(maxFrameNanos, duration);
+                }
+                lastFrame = now;
+
+                if (frame == WARMUP_FRAMES) {
+                    PulseScheduler.reset();
+                }
+                if (frame > WARMUP_FRAMES + MEASURED_FRAMES) {
+                    report();
+                    round++;
+                    if (round == 2) {
+                        stop();
+                        Platform.exit();
+                        return;
+                    }
+                    startRound();
+                }
+            }
+        }.start();
+    }
+
+    private void startRound() {
+        frame         = 0;
+        lastFrame     = 0;
+        frameNanos    = 0;
+        maxFrameNanos = 0;
+
+        if (round == 0) {
+            tachometers.forEach(tachometer -> tachometer.setOn(true));
+        } else {
+            // ausgeschaltet drehen die Propeller nicht mehr ueber die Uhr
+            tachometers.forEach(tachometer -> tachometer.setOn(false));
+            for (Tachometer tachometer : tachometers) {
+                double speed = tachometer.getValue() / 40000 * 360;
+                if (speed == 0) {
+                    continue;
+                }
+                RotateTransition transition = new RotateTransition(Duration.seconds(360 / speed), tachometer.getPropeller());
+                transition.setByAngle(360);
+                transition.setInterpolator(Interpolator.LINEAR);
+                transition.setCycleCount(Animation.INDEFINITE);
+                transition.play();
+                transitions.add(transition);
+            }
+        }
+    }
+
+    private void report() {
+        System.out.printf("%-28s frame avg %6.2f ms max %6.2f ms | scheduler avg %6.1f us, clock avg %6.1f us%n",
+                          round == 0 ? "shared propeller clock" : "rotate transition per turbine",
+                          frameNanos / 1_000_000.0 / MEASURED_FRAMES,
+                          maxFrameNanos / 1_000_000.0,
+                          PulseScheduler.getAverageFrameNanos() / 1_000.0,
+                          PulseScheduler.getAverageClockNanos() / 1_000.0);
+        transitions.forEach(RotateTransition::stop);
+        transitions.clear();
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
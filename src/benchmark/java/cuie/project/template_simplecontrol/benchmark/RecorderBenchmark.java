@@ -0,0 +1,142 @@
+package cuie.project.template_simplecontrol.benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.stage.Stage;
+
+import cuie.project.template_simplecontrol.Tachometer;
+import cuie.project.template_simplecontrol.telemetry.TelemetryRecorder;
+
+/**
+ * Misst, was die Aufzeichnung mit {@link TelemetryRecorder} den FX-Thread kostet und wie viele Messwerte der
+ * Writer-Thread schafft.
+ *
+ * 2000 Turbinen erhalten je 10 Messwerte pro Sekunde, verteilt auf die Frames. Die Frames werden abwechselnd mit
+ * und ohne angehaengten Recorder gemessen; der Unterschied der Zeit fuer die setValue-Aufrufe im Verhaeltnis zur
+ * vergangenen Zeit ist der Anteil der Aufzeichnung am FX-Thread (Ziel: unter 1%). Danach werden Messwerte so
+ * schnell wie moeglich uebergeben, um den Durchsatz des Writers zu messen.
+ */
+public class RecorderBenchmark extends Application {
+    private static final int    TURBINES          = 2000;
+    private static final double RATE              = 10;
+    private static final int    SECONDS_PER_ROUND = 10;
+    private static final int    ROUNDS            = 4;
+    private static final int    BURST_SAMPLES     = 10_000_000;
+
+    private final List<Tachometer> tachometers = new ArrayList<>();
+    private final Random           random      = new Random(42);
+    private final long[]           roundNanos  = new long[ROUNDS];
+
+    private Path              file;
+    private TelemetryRecorder recorder;
+
+    private long   roundStart;
+    private long   lastFrame;
+    private double due;
+    private int    next;
+    private int    round;
+
+    @Override
+    public void start(Stage primaryStage) throws IOException {
+        file     = Files.createTempFile("telemetry", ".trec");
+        recorder = new TelemetryRecorder(file);
+        for (int i = 0; i < TURBINES; i++) {
+            tachometers.add(new Tachometer());
+        }
+        startRound();
+
+        new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                if (lastFrame > 0) {
+                    due += (now - lastFrame) / 1_000_000_000.0 * TURBINES * RATE;
+                }
+                lastFrame = now;
+
+                long start = System.nanoTime();
+                for (; due >= 1; due--) {
+                    tachometers.get(next).setValue(random.nextInt(40000));
+                    next = (next + 1) % TURBINES;
+                }
+                roundNanos[round] += System.nanoTime() - start;
+
+                if (now - roundStart >= SECONDS_PER_ROUND * 1_000_000_000L) {
+                    round++;
+                    if (round == ROUNDS) {
+                        stop();
+                        finish();
+                        return;
+                    }
+                    startRound();
+                }
+            }
+        }.start();
+    }
+
+    private void startRound() {
+        // gerade Runden mit Recorder, ungerade ohne
+        for (int i = 0; i < TURBINES; i++) {
+            if (round % 2 == 0) {
+                recorder.attach(tachometers.get(i), i);
+            } else {
+                recorder.detach(tachometers.get(i));
+            }
+        }
+        roundStart = System.nanoTime();
+    }
+
+    private void finish() {
+        long with    = 0;
+        long without = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            if (i % 2 == 0) {
+                with += roundNanos[i];
+            } else {
+                without += roundNanos[i];
+            }
+        }
+        double elapsed = ROUNDS / 2 * SECONDS_PER_ROUND * 1_000_000_000.0;
+        System.out.printf("%d turbines at %.0f Hz: setValue %.3f%% of FX thread with recorder, %.3f%% without, overhead %.3f%%%n",
+                          TURBINES, RATE,
+                          with * 100 / elapsed,
+                          without * 100 / elapsed,
+                          (with - without) * 100 / elapsed);
+        System.out.printf("recorded %,d, dropped %,d, %d blocks, %d commits, %.2f bytes per sample%n",
+                          recorder.getRecorded(), recorder.getDropped(), recorder.getBlocks(), recorder.getCommits(),
+                          (double) recorder.getBytesWritten() / recorder.getRecorded());
+
+        long recorded = recorder.getRecorded();
+        long start    = System.nanoTime();
+        for (int i = 0; i < BURST_SAMPLES; i++) {
+            // auf den Writer warten statt verwerfen, gemessen wird dessen Durchsatz
+            while (!recorder.record(i % TURBINES, 20_000 + i % 97, true)) {
+                Thread.onSpinWait();
+            }
+        }
+        try {
+            recorder.close();
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            System.out.printf("writer throughput: %,.0f samples/s (%,d samples, %.1f MB)%n",
+                              (recorder.getRecorded() - recorded) / seconds,
+                              recorder.getRecorded() - recorded,
+                              recorder.getBytesWritten() / 1024.0 / 1024);
+            Files.delete(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Platform.exit();
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
@@ -0,0 +1,123 @@
+package cuie.project.template_simplecontrol.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.layout.TilePane;
+import javafx.stage.Stage;
+
+import cuie.project.template_simplecontrol.Tachometer;
+import cuie.project.template_simplecontrol.Tachometer.RenderMode;
+
+/**
+ * Vergleicht die beiden RenderModes des Tachometers.
+ *
+ * Fuer N = 50, 200 und 1000 Instanzen wird pro Frame bei allen Tachometern der Wert geaendert und
+ * die durchschnittliche Frame-Zeit sowie der Heap-Verbrauch nach einer GC ausgegeben.
+ */
+public class RenderModeBenchmark extends Application {
+    private static final int[] INSTANCES       = {50, 200, 1000};
+    private static final int   WARMUP_FRAMES   = 60;
+    private static final int   MEASURED_FRAMES = 300;
+
+    private final MemoryMXBean    memory    = ManagementFactory.getMemoryMXBean();
+    private final Random          random    = new Random(42);
+    private final TilePane        root      = new TilePane();
+    private final Deque<Runnable> scenarios = new ArrayDeque<>();
+
+    @Override
+    public void start(Stage primaryStage) {
+        root.setPrefColumns(40);
+        root.setPrefTileWidth(40);
+        root.setPrefTileHeight(27);
+
+        primaryStage.setTitle("Tachometer RenderMode Benchmark");
+        primaryStage.setScene(new Scene(root, 1600, 700));
+        primaryStage.show();
+
+        System.out.printf("%-8s %6s %14s %14s %14s %16s%n", "mode", "N", "avg frame ms", "p95 frame ms", "heap MB", "heap KB/instance");
+        for (int n : INSTANCES) {
+            for (RenderMode mode : RenderMode.values()) {
+                scenarios.add(() -> runScenario(mode, n));
+            }
+        }
+        nextScenario();
+    }
+
+    private void nextScenario() {
+        Runnable scenario = scenarios.poll();
+        if (scenario == null) {
+            Platform.exit();
+        } else {
+            Platform.runLater(scenario);
+        }
+    }
+
+    private void runScenario(RenderMode mode, int instances) {
+        root.getChildren().clear();
+        long heapBefore = usedHeapAfterGc();
+
+        List<Tachometer> tachometers = new ArrayList<>(instances);
+        for (int i = 0; i < instances; i++) {
+            Tachometer tachometer = new Tachometer(mode);
+            tachometer.setOn(i % 2 == 0);
+            tachometers.add(tachometer);
+        }
+        root.getChildren().addAll(tachometers);
+
+        new AnimationTimer() {
+            private final long[] frameTimes = new long[MEASURED_FRAMES];
+            private long lastFrame;
+            private int  frame;
+
+            @Override
+            public void handle(long now) {
+                if (frame > WARMUP_FRAMES) {
+                    frameTimes[frame - WARMUP_FRAMES - 1] = now - lastFrame;
+                }
+                lastFrame = now;
+                frame++;
+
+                if (frame > WARMUP_FRAMES + MEASURED_FRAMES) {
+                    stop();
+                    report(mode, instances, frameTimes, usedHeapAfterGc() - heapBefore);
+                    nextScenario();
+                    return;
+                }
+
+                for (Tachometer tachometer : tachometers) {
+                    tachometer.setValue(random.nextDouble() * 40000);
+                }
+            }
+        }.start();
+    }
+
+    private void report(RenderMode mode, int instances, long[] frameTimes, long heap) {
+        long[] sorted = frameTimes.clone();
+        Arrays.sort(sorted);
+        double avg = Arrays.stream(frameTimes).average().orElse(0) / 1_000_000.0;
+        double p95 = sorted[(int) (sorted.length * 0.95)] / 1_000_000.0;
+
+        System.out.printf("%-8s %6d %14.2f %14.2f %14.1f %16.1f%n",
+                          mode, instances, avg, p95, heap / (1024.0 * 1024.0), heap / 1024.0 / instances);
+    }
+
+    private long usedHeapAfterGc() {
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
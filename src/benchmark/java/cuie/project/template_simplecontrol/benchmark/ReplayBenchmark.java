@@ -0,0 +1,135 @@
+package cuie.project.template_simplecontrol.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import cuie.project.template_simplecontrol.demo.PresentationModel;
+import cuie.project.template_simplecontrol.demo.TelemetryReplay;
+import cuie.project.template_simplecontrol.telemetry.TelemetryLog;
+import cuie.project.template_simplecontrol.telemetry.TelemetryLogWriter;
+
+/**
+ * Misst Durchsatz und Sprung-Latenz von {@link TelemetryReplay} mit einem Log von mehreren GB.
+ *
+ * Das Log wird beim ersten Lauf erzeugt: 1000 Turbinen mit einem Messwert pro Sekunde, so viele Tage wie fuer
+ * die gewuenschte Groesse noetig sind (ein Tag sind knapp 1.3 GB). Danach wird es mit 500-facher Geschwindigkeit
+ * bei 60 Frames pro Sekunde komplett abgespielt, ohne auf die Frames zu warten, und es werden zufaellige
+ * Zeitpunkte angesprungen, einmal nur ueber den Index und einmal inklusive Uebernahme in die PresentationModels.
+ *
+ * Parameter: --file=build/telemetry.tlog --gb=3
+ */
+public class ReplayBenchmark {
+    private static final int    TURBINES = 1000;
+    private static final double SPEED    = 500;
+    private static final long   FRAME    = 1000 / 60;
+    private static final int    SEEKS    = 1000;
+
+    // damit der JIT die Suche nicht wegoptimiert
+    private static long sink;
+
+    public static void main(String[] args) throws IOException {
+        Path   file = Paths.get(argument(args, "file", "build/telemetry.tlog"));
+        double gb   = Double.parseDouble(argument(args, "gb", "3"));
+
+        long records = (long) (gb * 1024 * 1024 * 1024 / TelemetryLog.RECORD_BYTES);
+        if (!Files.exists(file) || Files.size(file) < TelemetryLog.HEADER_BYTES + records * TelemetryLog.RECORD_BYTES) {
+            generate(file, records);
+        }
+
+        long start = System.nanoTime();
+        try (TelemetryLog log = TelemetryLog.open(file)) {
+            System.out.printf("open %,d records (%.1f GB): %.1f ms%n",
+                              log.size(),
+                              Files.size(file) / 1024.0 / 1024 / 1024,
+                              (System.nanoTime() - start) / 1_000_000.0);
+
+            List<PresentationModel> models = new ArrayList<>();
+            for (int i = 0; i < TURBINES; i++) {
+                models.add(new PresentationModel());
+            }
+            TelemetryReplay replay = new TelemetryReplay(log, models);
+
+            replayAll(log, replay);
+            seekIndex(log);
+            seekReplay(log, replay);
+        }
+    }
+
+    private static void generate(Path file, long records) throws IOException {
+        long   start  = System.nanoTime();
+        long   time   = 1_600_000_000_000L;
+        Random random = new Random(42);
+        try (TelemetryLogWriter writer = new TelemetryLogWriter(file)) {
+            while (writer.getRecords() < records) {
+                for (int turbine = 0; turbine < TURBINES && writer.getRecords() < records; turbine++) {
+                    writer.append(time + turbine, turbine, random.nextInt(40000), turbine % 10 != 0);
+                }
+                time += 1000;
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        System.out.printf("generated %s: %,.0f records/s%n", file, records / seconds);
+    }
+
+    private static void replayAll(TelemetryLog log, TelemetryReplay replay) {
+        long step  = (long) (FRAME * SPEED);
+        long start = System.nanoTime();
+        for (long time = log.getStartTime(); replay.getSamples() < log.size(); time += step) {
+            replay.advanceTo(time);
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        System.out.printf("replay at %.0fx: %,.0f samples/s, %.2f ms per frame%n",
+                          SPEED,
+                          replay.getSamples() / seconds,
+                          seconds * 1000 / ((log.getEndTime() - log.getStartTime()) / step + 1));
+    }
+
+    private static void seekIndex(TelemetryLog log) {
+        Random random = new Random(7);
+        long[] nanos  = new long[SEEKS];
+        for (int i = 0; i < SEEKS; i++) {
+            long time  = log.getStartTime() + (long) (random.nextDouble() * (log.getEndTime() - log.getStartTime()));
+            long start = System.nanoTime();
+            sink += log.indexOf(time);
+            nanos[i] = System.nanoTime() - start;
+        }
+        report("seek (index only)", nanos);
+    }
+
+    private static void seekReplay(TelemetryLog log, TelemetryReplay replay) {
+        Random random = new Random(11);
+        long[] nanos  = new long[SEEKS];
+        for (int i = 0; i < SEEKS; i++) {
+            replay.seek(log.getStartTime() + (long) (random.nextDouble() * (log.getEndTime() - log.getStartTime())));
+            nanos[i] = replay.getLastSeekNanos();
+        }
+        report("seek (with warmup)", nanos);
+    }
+
+    private static void report(String name, long[] nanos) {
+        Arrays.sort(nanos);
+        System.out.printf("%-19s median %8.1f us, p99 %8.1f us, max %8.1f us%n",
+                          name,
+                          nanos[nanos.length / 2] / 1000.0,
+                          nanos[nanos.length * 99 / 100] / 1000.0,
+                          nanos[nanos.length - 1] / 1000.0);
+    }
+
+    private static String argument(String[] args, String name, String defaultValue) {
+        // das letzte Vorkommen gewinnt, damit Defaults aus build.gradle uebersteuert werden koennen
+        String prefix = "--" + name + "=";
+        String value  = defaultValue;
+        for (String arg : args) {
+            if (arg.startsWith(prefix)) {
+                value = arg.substring(prefix.length());
+            }
+        }
+        return value;
+    }
+}
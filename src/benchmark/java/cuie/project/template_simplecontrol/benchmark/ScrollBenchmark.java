@@ -0,0 +1,173 @@
+package cuie.project.template_simplecontrol.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.control.ContentDisplay;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.stage.Stage;
+
+import cuie.project.template_simplecontrol.Tachometer;
+import cuie.project.template_simplecontrol.TachometerCell;
+import cuie.project.template_simplecontrol.TachometerPool;
+import cuie.project.template_simplecontrol.demo.PresentationModel;
+
+/**
+ * Scrollt durch eine Liste von 5000 Turbinen und misst die Frame-Zeiten, einmal mit wiederverwendeten
+ * Tachometern ({@link TachometerCell}) und einmal mit einem neuen Tachometer pro angezeigter Zeile.
+ *
+ * Gemessen wird der Layout-Pass (dort erzeugen bzw. binden die Zellen ihre Tachometer) und der Abstand
+ * zwischen zwei Frames.
+ */
+public class ScrollBenchmark extends Application {
+    private static final int ITEMS           = 5000;
+    private static final int ROWS_PER_FRAME  = 7;
+    private static final int WARMUP_FRAMES   = 60;
+    private static final int MEASURED_FRAMES = 600;
+
+    private static final BiConsumer<Tachometer, PresentationModel> BIND = (tachometer, pm) -> {
+        tachometer.valueProperty().bindBidirectional(pm.pmValueProperty());
+        tachometer.onProperty().bindBidirectional(pm.runningProperty());
+    };
+
+    private static final BiConsumer<Tachometer, PresentationModel> UNBIND = (tachometer, pm) -> {
+        tachometer.valueProperty().unbindBidirectional(pm.pmValueProperty());
+        tachometer.onProperty().unbindBidirectional(pm.runningProperty());
+    };
+
+    private final List<PresentationModel> models = new ArrayList<>();
+
+    private ListView<PresentationModel> listView;
+
+    private long layoutStart;
+    private long layoutNanos;
+    private long maxLayoutNanos;
+    private long lastFrame;
+    private long frameNanos;
+    private long maxFrameNanos;
+    private int  frame;
+    private int  round;
+
+    @Override
+    public void start(Stage primaryStage) {
+        for (int i = 0; i < ITEMS; i++) {
+            PresentationModel pm = new PresentationModel();
+            pm.setPmValue(i * 7 % 40000);
+            pm.setRunning(i % 3 != 0);
+            models.add(pm);
+        }
+
+        listView = new ListView<>();
+        listView.setFixedCellSize(64);
+
+        Scene scene = new Scene(listView, 400, 900);
+        scene.addPreLayoutPulseListener(() -> layoutStart = System.nanoTime());
+        scene.addPostLayoutPulseListener(() -> {
+            if (frame > WARMUP_FRAMES) {
+                long duration = System.nanoTime() - layoutStart;
+                layoutNanos += duration;
+                maxLayoutNanos = Math.max(maxLayoutNanos, duration);
+            }
+        });
+
+        primaryStage.setTitle("Scroll Benchmark");
+        primaryStage.setScene(scene);
+        primaryStage.show();
+
+        startRound();
+
+        new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                frame++;
+                if (frame > WARMUP_FRAMES && lastFrame > 0) {
+                    long duration = now - lastFrame;
+                    frameNanos += duration;
+                    maxFrameNanos = Math.max(maxFrameNanos, duration);
+                }
+                lastFrame = now;
+
+                if (frame > WARMUP_FRAMES + MEASURED_FRAMES) {
+                    report();
+                    round++;
+                    if (round == 2) {
+                        stop();
+                        Platform.exit();
+                        return;
+                    }
+                    startRound();
+                    return;
+                }
+                listView.scrollTo(frame * ROWS_PER_FRAME % ITEMS);
+            }
+        }.start();
+    }
+
+    private void startRound() {
+        frame          = 0;
+        lastFrame      = 0;
+        layoutNanos    = 0;
+        maxLayoutNanos = 0;
+        frameNanos     = 0;
+        maxFrameNanos  = 0;
+
+        if (round == 0) {
+            listView.setCellFactory(list -> new NewTachometerPerRowCell());
+        } else {
+            TachometerPool pool = new TachometerPool(Tachometer.RenderMode.NODES, 64);
+            // die Zellen geben ihre Tachometer zurueck, wenn die ListView sie verwirft
+            listView.setCellFactory(TachometerCell.forListView(pool, (tachometer, pm) -> BIND.accept(sized(tachometer), pm), UNBIND));
+        }
+        listView.getItems().setAll(models);
+    }
+
+    private void report() {
+        System.out.printf("%-22s layout avg %6.2f ms max %6.2f ms | frame avg %6.2f ms max %6.2f ms%n",
+                          round == 0 ? "new tachometer per row" : "recycled tachometers",
+                          layoutNanos / 1_000_000.0 / MEASURED_FRAMES,
+                          maxLayoutNanos / 1_000_000.0,
+                          frameNanos / 1_000_000.0 / MEASURED_FRAMES,
+                          maxFrameNanos / 1_000_000.0);
+    }
+
+    private static Tachometer sized(Tachometer tachometer) {
+        tachometer.setPrefSize(90, 60);
+        return tachometer;
+    }
+
+    /**
+     * Das bisherige Vorgehen: fuer jede neu angezeigte Zeile wird ein neuer Tachometer erzeugt.
+     */
+    private static class NewTachometerPerRowCell extends ListCell<PresentationModel> {
+        private PresentationModel shown;
+
+        NewTachometerPerRowCell() {
+            setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+        }
+
+        @Override
+        protected void updateItem(PresentationModel item, boolean empty) {
+            super.updateItem(item, empty);
+            if (!empty && item == shown) {
+                return;
+            }
+            if (getGraphic() != null && shown != null) {
+                UNBIND.accept((Tachometer) getGraphic(), shown);
+            }
+            shown = empty ? null : item;
+            if (shown == null) {
+                setGraphic(null);
+                return;
+            }
+            Tachometer tachometer = sized(new Tachometer());
+            BIND.accept(tachometer, item);
+            setGraphic(tachometer);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package cuie.project.common;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Kosten der ControlMetrics im heissen Pfad: ein Messwert und eine Messung pro Aufruf, wie bei einem Tachometer
+ * unter Last. Ausgeschaltet ist das ein volatile boolean pro Aufruf, eingeschaltet kommen zwei Aufrufe von
+ * System.nanoTime() und die Zaehler dazu.
+ *
+ * Misst nur die Zeiten. Das Budget fuer den ausgeschalteten Fall (kein System.nanoTime(), keine Allokation)
+ * prueft ControlMetricsTest ohne Abhaengigkeit von der Uhr.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ControlMetricsBenchmark {
+
+    @Param({"false", "true"})
+    private boolean enabled;
+
+    private double value;
+
+    @Setup
+    public void setup() {
+        ControlMetrics.setEnabled(enabled);
+        ControlMetrics.reset();
+    }
+
+    @TearDown
+    public void tearDown() {
+        ControlMetrics.setEnabled(false);
+    }
+
+    @Benchmark
+    public void valueUpdateAndMeasurement() {
+        value++;
+        ControlMetrics.tachometerValueUpdated(value);
+        ControlMetrics.baseColorApplied(ControlMetrics.begin());
+    }
+}
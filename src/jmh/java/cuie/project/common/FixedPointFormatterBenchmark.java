@@ -0,0 +1,81 @@
+package cuie.project.common;
+
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Vergleicht den FixedPointFormatter mit String.format fuer die Anzeige im Tachometer ("%.2f kW")
+ * und im BusinessControl ("%,d").
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FixedPointFormatterBenchmark {
+    private static final Locale CH = new Locale("de", "CH");
+
+    private static final int VALUES = 1024;
+
+    private final double[] telemetry = new double[VALUES];
+    private final long[]   integers  = new long[VALUES];
+
+    private FixedPointFormatter displayFormatter;
+    private FixedPointFormatter integerFormatter;
+
+    private int index;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        for (int i = 0; i < VALUES; i++) {
+            telemetry[i] = random.nextDouble() * 40000;
+            integers[i]  = random.nextInt(2_000_000) - 1_000_000;
+        }
+        displayFormatter = new FixedPointFormatter(CH, 2, false, " kW");
+        integerFormatter = new FixedPointFormatter(CH, 0, true, "");
+    }
+
+    private int next() {
+        index = (index + 1) & (VALUES - 1);
+        return index;
+    }
+
+    @Benchmark
+    public String displayStringFormat() {
+        return String.format(CH, "%.2f kW", telemetry[next()]);
+    }
+
+    @Benchmark
+    public String displayFixedPointFormatter() {
+        return displayFormatter.format(telemetry[next()]);
+    }
+
+    @Benchmark
+    public String displayUnchangedFixedPointFormatter() {
+        return displayFormatter.format(telemetry[0]);
+    }
+
+    @Benchmark
+    public String integerStringFormat() {
+        return String.format(CH, "%,d", integers[next()]);
+    }
+
+    @Benchmark
+    public String integerFixedPointFormatter() {
+        return integerFormatter.format(integers[next()]);
+    }
+}
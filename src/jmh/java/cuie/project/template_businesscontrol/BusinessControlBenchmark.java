@@ -0,0 +1,86 @@
+package cuie.project.template_businesscontrol;
+
+import java.util.concurrent.TimeUnit;
+
+import javafx.scene.Group;
+import javafx.scene.Scene;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import cuie.project.common.HeadlessFx;
+
+/**
+ * Misst den Weg Text -> value -> Text des BusinessControls und das Erzeugen des BusinessSkins im Headless-Toolkit.
+ *
+ * createControl dient als Referenz: die Differenz zu createControlWithSkin sind die Kosten des Skins.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BusinessControlBenchmark {
+    private static final int ROUND_TRIPS = 1_000;
+    private static final int CREATIONS   = 20;
+
+    private static final String[] INPUTS = {"12'345", "-678", "1'000'000", "42"};
+
+    private BusinessControl control;
+
+    @Setup
+    public void setup() {
+        HeadlessFx.startup();
+        HeadlessFx.run(() -> {
+            control = new BusinessControl();
+            new Scene(new Group(control));
+            control.applyCss();
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROUND_TRIPS)
+    public String roundTrip() {
+        return HeadlessFx.call(() -> {
+            for (int i = 0; i < ROUND_TRIPS; i++) {
+                control.setUserFacingText(INPUTS[i % INPUTS.length]);
+            }
+            return control.getUserFacingText();
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CREATIONS)
+    public BusinessControl createControl() {
+        return HeadlessFx.call(() -> {
+            BusinessControl last = null;
+            for (int i = 0; i < CREATIONS; i++) {
+                last = new BusinessControl();
+            }
+            return last;
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CREATIONS)
+    public BusinessControl createControlWithSkin() {
+        return HeadlessFx.call(() -> {
+            BusinessControl last = null;
+            for (int i = 0; i < CREATIONS; i++) {
+                last = new BusinessControl();
+                last.setSkin(new BusinessSkin(last));
+            }
+            return last;
+        });
+    }
+}
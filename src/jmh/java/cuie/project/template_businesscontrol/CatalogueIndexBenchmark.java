@@ -0,0 +1,70 @@
+package cuie.project.template_businesscontrol;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Aufbau und Abfrage des CatalogueIndex ueber einen synthetischen Katalog mit 100'000 Anlagen.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CatalogueIndexBenchmark {
+    private static final String[] PLACES = {"Gries", "Mont Crosin", "Guetsch", "Nufenen", "Saint-Brais",
+                                            "Haldenstein", "Peuchapatte", "Entlebuch", "Lutersarni", "Juvent"};
+
+    @Param({"100000"})
+    public int size;
+
+    @Param({"g", "gr", "gries", "wea 12", "1234", "crosin wea 2"})
+    public String query;
+
+    private List<CatalogueEntry> catalogue;
+    private CatalogueIndex       index;
+
+    @Setup
+    public void setup() {
+        catalogue = createCatalogue(size);
+        index     = CatalogueIndex.build(catalogue);
+    }
+
+    static List<CatalogueEntry> createCatalogue(int size) {
+        Random               random    = new Random(42);
+        List<CatalogueEntry> catalogue = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String place = PLACES[random.nextInt(PLACES.length)];
+            catalogue.add(new CatalogueEntry(100_000 + i, "Windpark " + place + " WEA " + (i % 300)));
+        }
+        return catalogue;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 10)
+    public CatalogueIndex build() {
+        return CatalogueIndex.build(catalogue);
+    }
+
+    @Benchmark
+    public int[] search() {
+        return index.search(query);
+    }
+}
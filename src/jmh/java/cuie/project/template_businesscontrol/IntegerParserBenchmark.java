@@ -0,0 +1,71 @@
+package cuie.project.template_businesscontrol;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Vergleicht den IntegerParser mit der frueheren Kombination aus Regex und Integer.parseInt.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IntegerParserBenchmark {
+    private static final Pattern INTEGER_PATTERN = Pattern.compile("[+-]?[\\d']{1,14}");
+
+    @Param({"valid", "invalid", "grouped", "pasted"})
+    public String kind;
+
+    private String input;
+
+    private final IntegerParser parser = new IntegerParser();
+
+    @Setup
+    public void setup() {
+        switch (kind) {
+            case "valid":
+                input = "-1234567";
+                break;
+            case "invalid":
+                input = "12x34";
+                break;
+            case "grouped":
+                input = "1'234'567";
+                break;
+            default:
+                // Massenimport: sehr lange Eingabe aus der Zwischenablage
+                input = "0".repeat(100_000) + "42";
+        }
+    }
+
+    @Benchmark
+    public int regexAndParseInt() {
+        if (!INTEGER_PATTERN.matcher(input).matches()) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(input);
+        } catch (NumberFormatException e) {
+            return -2;
+        }
+    }
+
+    @Benchmark
+    public int integerParser() {
+        return parser.parse(input) ? parser.getValue() : parser.getErrorIndex();
+    }
+}
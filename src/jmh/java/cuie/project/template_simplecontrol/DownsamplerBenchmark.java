@@ -0,0 +1,66 @@
+package cuie.project.template_simplecontrol;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Kosten eines neuen Messwerts fuer die Sparkline: inkrementell verdichtet gegenueber dem kompletten
+ * Neuverdichten des Puffers, wie es ohne Downsampler pro Frame noetig waere.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DownsamplerBenchmark {
+    private static final long WINDOW_MILLIS   = 10 * 60 * 1000;
+    private static final long SAMPLE_INTERVAL = 100;
+
+    @Param({"120", "600"})
+    public int columns;
+
+    private ValueHistory history;
+    private long         time;
+
+    @Setup
+    public void setup() {
+        history = new ValueHistory(Tachometer.DEFAULT_HISTORY_CAPACITY);
+        for (int i = 0; i < history.getCapacity(); i++) {
+            addSample();
+        }
+    }
+
+    @Benchmark
+    public double addIncremental() {
+        Downsampler downsampler = history.downsample(columns, WINDOW_MILLIS);
+        addSample();
+        return downsampler.getMax(columns - 1);
+    }
+
+    @Benchmark
+    public double addAndRebuild() {
+        addSample();
+        Downsampler downsampler = new Downsampler(columns, WINDOW_MILLIS);
+        for (int i = 0; i < history.size(); i++) {
+            downsampler.add(history.getTime(i), history.getValue(i));
+        }
+        return downsampler.getMax(columns - 1);
+    }
+
+    private void addSample() {
+        time += SAMPLE_INTERVAL;
+        history.add(time, Math.sin(time * 0.0001) * 20000 + 20000);
+    }
+}
@@ -0,0 +1,121 @@
+package cuie.project.template_simplecontrol;
+
+import java.util.concurrent.TimeUnit;
+
+import javafx.scene.Group;
+import javafx.scene.Scene;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import cuie.project.common.HeadlessFx;
+
+/**
+ * Misst Konstruktion, setValue und resize des Tachometers im Headless-Toolkit.
+ *
+ * Alle Operationen laufen im FX-Thread. Damit der Wechsel in den FX-Thread das Resultat nicht verfaelscht,
+ * fuehrt jeder Aufruf eine ganze Serie aus; JMH rechnet ueber OperationsPerInvocation auf eine Operation um.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TachometerBenchmark {
+    private static final int CONSTRUCTIONS = 20;
+    private static final int VALUES        = 1_000;
+    private static final int RESIZES       = 100;
+
+    @Param({"NODES", "CANVAS"})
+    public Tachometer.RenderMode renderMode;
+
+    // false: die Nadel springt, statt pro Wert eine Animation des Gauges zu starten
+    @Param({"true", "false"})
+    public boolean animated;
+
+    private Tachometer tachometer;
+    private Scene      scene;
+
+    @Setup
+    public void setup() {
+        HeadlessFx.startup();
+        HeadlessFx.run(() -> {
+            tachometer = new Tachometer(renderMode);
+            scene      = new Scene(new Group(tachometer), 600, 400);
+            tachometer.setOn(true);
+            tachometer.setAnimated(animated);
+            tachometer.applyCss();
+            tachometer.resize(300, 200);
+            tachometer.layout();
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        HeadlessFx.run(() -> ((Group) scene.getRoot()).getChildren().clear());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONSTRUCTIONS)
+    public Tachometer construct() {
+        return HeadlessFx.call(() -> {
+            Tachometer last = null;
+            for (int i = 0; i < CONSTRUCTIONS; i++) {
+                last = new Tachometer(renderMode);
+            }
+            return last;
+        });
+    }
+
+    /**
+     * Konstruktion inklusive erstem Layout-Pass, in dem die Teile erzeugt werden.
+     */
+    @Benchmark
+    @OperationsPerInvocation(CONSTRUCTIONS)
+    public Tachometer constructAndLayout() {
+        return HeadlessFx.call(() -> {
+            Tachometer last = null;
+            for (int i = 0; i < CONSTRUCTIONS; i++) {
+                last = new Tachometer(renderMode);
+                last.resize(300, 200);
+                last.layout();
+            }
+            return last;
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public double setValue() {
+        return HeadlessFx.call(() -> {
+            for (int i = 0; i < VALUES; i++) {
+                tachometer.setValue(i * 37.5);
+            }
+            return tachometer.getValue();
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RESIZES)
+    public double resize() {
+        return HeadlessFx.call(() -> {
+            for (int i = 0; i < RESIZES; i++) {
+                tachometer.resize(150 + i, 100 + i);
+                tachometer.layout();
+            }
+            return tachometer.getWidth();
+        });
+    }
+}
@@ -0,0 +1,83 @@
+package cuie.project.template_simplecontrol.demo;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import javafx.beans.binding.Bindings;
+import javafx.beans.binding.NumberBinding;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Kosten eines Messwerts fuer die Park-Summe: {@link ParkAggregate} aus vier Ingest-Threads gegenueber einer
+ * Kette von Bindings.add ueber alle Turbinen, die nach jeder Aenderung neu ausgewertet wird.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParkAggregateBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Park {
+        @Param({"500", "2000"})
+        public int turbines;
+
+        ParkAggregate aggregate;
+
+        @Setup
+        public void setup() {
+            aggregate = new ParkAggregate(turbines);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Chain {
+        @Param({"500", "2000"})
+        public int turbines;
+
+        DoubleProperty[] values;
+        NumberBinding    sum;
+
+        @Setup
+        public void setup() {
+            values = new DoubleProperty[turbines];
+            for (int i = 0; i < turbines; i++) {
+                values[i] = new SimpleDoubleProperty();
+            }
+            NumberBinding chain = Bindings.add(values[0], values[1]);
+            for (int i = 2; i < turbines; i++) {
+                chain = Bindings.add(chain, values[i]);
+            }
+            sum = chain;
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void aggregate(Park park) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        park.aggregate.update(random.nextInt(park.turbines), random.nextInt(40000), true);
+    }
+
+    @Benchmark
+    public double bindingChain(Chain chain) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        chain.values[random.nextInt(chain.turbines)].set(random.nextInt(40000));
+        return chain.sum.doubleValue();
+    }
+}
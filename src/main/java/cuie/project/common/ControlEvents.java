@@ -0,0 +1,98 @@
+package cuie.project.common;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Java Flight Recorder Events der Controls, ausgeloest von {@link ControlMetrics}.
+ *
+ * Die gemessene Dauer steht jeweils in einem eigenen Feld (elapsed bzw. latency; duration ist fuer JFR
+ * reserviert), weil gemessen wird, bevor feststeht, ob das Event aufgezeichnet wird. Ohne Stacktraces, damit
+ * ein Event auch in einer laufenden Aufzeichnung wenig kostet.
+ */
+final class ControlEvents {
+    private static final String CATEGORY = "CUIE Controls";
+
+    private ControlEvents() {
+    }
+
+    // pro Messwert; per Default aus, weil es bei vielen Turbinen sehr viele sind
+    @Name("cuie.TachometerValue")
+    @Label("Tachometer Value")
+    @Category({CATEGORY, "Tachometer"})
+    @Enabled(false)
+    @StackTrace(false)
+    static final class TachometerValue extends Event {
+        @Label("Value")
+        double value;
+    }
+
+    @Name("cuie.TachometerTransition")
+    @Label("Tachometer On/Off Transition")
+    @Category({CATEGORY, "Tachometer"})
+    @StackTrace(false)
+    static final class TachometerTransition extends Event {
+        @Label("On")
+        boolean on;
+    }
+
+    @Name("cuie.TachometerResize")
+    @Label("Tachometer Resize")
+    @Category({CATEGORY, "Tachometer"})
+    @StackTrace(false)
+    static final class TachometerResize extends Event {
+        @Label("Width")
+        double width;
+
+        @Label("Height")
+        double height;
+
+        @Label("Elapsed")
+        @Timespan
+        long elapsed;
+    }
+
+    @Name("cuie.BaseColorApplied")
+    @Label("Tachometer Base Color Applied")
+    @Description("baseColor wurde aus CSS uebernommen und auf die Teile angewendet")
+    @Category({CATEGORY, "Tachometer"})
+    @StackTrace(false)
+    static final class BaseColorApplied extends Event {
+        @Label("Elapsed")
+        @Timespan
+        long elapsed;
+    }
+
+    @Name("cuie.Validation")
+    @Label("BusinessControl Validation")
+    @Category({CATEGORY, "BusinessControl"})
+    @StackTrace(false)
+    static final class Validation extends Event {
+        @Label("Valid")
+        boolean valid;
+
+        @Label("Asynchronous")
+        boolean async;
+
+        @Label("Elapsed")
+        @Timespan
+        long elapsed;
+    }
+
+    @Name("cuie.PopupShow")
+    @Label("BusinessSkin Popup Show")
+    @Description("Zeit vom Klick auf den Chooser-Button bis das Popup angezeigt wird")
+    @Category({CATEGORY, "BusinessControl"})
+    @StackTrace(false)
+    static final class PopupShow extends Event {
+        @Label("Latency")
+        @Timespan
+        long latency;
+    }
+}
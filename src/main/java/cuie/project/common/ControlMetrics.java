@@ -0,0 +1,381 @@
+package cuie.project.common;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+/**
+ * Messwerte aus den heissen Pfaden der Controls, als Zaehler fuer JMX ({@link ControlMetricsMBean}) und als
+ * Java Flight Recorder Events ({@link ControlEvents}).
+ *
+ * Die Zaehler laufen nur, wenn sie eingeschaltet sind (System-Property {@code cuie.metrics=true} oder das
+ * Attribut Enabled des MBeans), die Events nur waehrend einer JFR-Aufzeichnung. Ist beides aus, kostet jeder
+ * Aufruf das Lesen eines volatile boolean, {@link #begin()} ruft dann nicht einmal System.nanoTime() auf.
+ *
+ * Gemessene Dauern beginnen mit {@link #begin()}; liefert es 0, wird die Messung ignoriert:
+ * <pre>
+ *   long start = ControlMetrics.begin();
+ *   ...
+ *   ControlMetrics.baseColorApplied(start);
+ * </pre>
+ * Darf aus jedem Thread aufgerufen werden.
+ */
+public final class ControlMetrics {
+    public static final String OBJECT_NAME = "cuie.project:type=ControlMetrics";
+
+    private static final LongAdder  VALUE_UPDATES      = new LongAdder();
+    private static final LongAdder  TRANSITIONS        = new LongAdder();
+    private static final LongAdder  RESIZES            = new LongAdder();
+    private static final LongAdder  RESIZE_NANOS       = new LongAdder();
+    private static final LongAdder  BASE_COLOR_APPLIED = new LongAdder();
+    private static final LongAdder  VALIDATIONS        = new LongAdder();
+    private static final LongAdder  INVALID_INPUTS     = new LongAdder();
+    private static final LongAdder  VALIDATION_NANOS   = new LongAdder();
+    private static final AtomicLong MAX_VALIDATION     = new AtomicLong();
+    private static final LongAdder  POPUP_SHOWS        = new LongAdder();
+    private static final LongAdder  POPUP_SHOW_NANOS   = new LongAdder();
+    private static final AtomicLong MAX_POPUP_SHOW     = new AtomicLong();
+
+    private static volatile boolean countersEnabled = Boolean.getBoolean("cuie.metrics");
+    private static volatile boolean recording;
+    // countersEnabled || recording, damit der heisse Pfad nur ein Feld liest
+    private static volatile boolean active;
+
+    static {
+        // initialisiert den Flight Recorder nicht, meldet aber jede spaetere Aufzeichnung
+        FlightRecorder.addListener(new FlightRecorderListener() {
+            @Override
+            public void recorderInitialized(FlightRecorder recorder) {
+                updateRecording();
+            }
+
+            @Override
+            public void recordingStateChanged(Recording changed) {
+                updateRecording();
+            }
+        });
+        updateActive();
+        // immer angemeldet, damit sich die Zaehler zur Laufzeit ueber Enabled einschalten lassen. Schlaegt das
+        // fehl, laufen die Controls ohne MBean weiter, statt mit einem ExceptionInInitializerError auszufallen
+        try {
+            registerMBean();
+        } catch (RuntimeException e) {
+            System.getLogger(ControlMetrics.class.getName()).log(System.Logger.Level.WARNING, "ControlMetrics without MBean", e);
+        }
+    }
+
+    private ControlMetrics() {
+    }
+
+    /**
+     * @return Startzeitpunkt fuer eine Messung, 0 falls weder Zaehler noch Aufzeichnung laufen
+     */
+    public static long begin() {
+        return active ? System.nanoTime() : 0;
+    }
+
+    public static void tachometerValueUpdated(double value) {
+        if (!active) {
+            return;
+        }
+        if (countersEnabled) {
+            VALUE_UPDATES.increment();
+        }
+        ControlEvents.TachometerValue event = new ControlEvents.TachometerValue();
+        if (event.shouldCommit()) {
+            event.value = value;
+            event.commit();
+        }
+    }
+
+    public static void tachometerTransition(boolean on) {
+        if (!active) {
+            return;
+        }
+        if (countersEnabled) {
+            TRANSITIONS.increment();
+        }
+        ControlEvents.TachometerTransition event = new ControlEvents.TachometerTransition();
+        if (event.shouldCommit()) {
+            event.on = on;
+            event.commit();
+        }
+    }
+
+    public static void tachometerResized(long start, double width, double height) {
+        if (start == 0) {
+            return;
+        }
+        long duration = System.nanoTime() - start;
+        if (countersEnabled) {
+            RESIZES.increment();
+            RESIZE_NANOS.add(duration);
+        }
+        ControlEvents.TachometerResize event = new ControlEvents.TachometerResize();
+        if (event.shouldCommit()) {
+            event.width   = width;
+            event.height  = height;
+            event.elapsed = duration;
+            event.commit();
+        }
+    }
+
+    public static void baseColorApplied(long start) {
+        if (start == 0) {
+            return;
+        }
+        long duration = System.nanoTime() - start;
+        if (countersEnabled) {
+            BASE_COLOR_APPLIED.increment();
+        }
+        ControlEvents.BaseColorApplied event = new ControlEvents.BaseColorApplied();
+        if (event.shouldCommit()) {
+            event.elapsed = duration;
+            event.commit();
+        }
+    }
+
+    /**
+     * @param async true, falls im Hintergrund-Thread validiert wurde
+     */
+    public static void validated(long start, boolean valid, boolean async) {
+        if (start == 0) {
+            return;
+        }
+        long duration = System.nanoTime() - start;
+        if (countersEnabled) {
+            VALIDATIONS.increment();
+            if (!valid) {
+                INVALID_INPUTS.increment();
+            }
+            VALIDATION_NANOS.add(duration);
+            MAX_VALIDATION.accumulateAndGet(duration, Math::max);
+        }
+        ControlEvents.Validation event = new ControlEvents.Validation();
+        if (event.shouldCommit()) {
+            event.valid   = valid;
+            event.async   = async;
+            event.elapsed = duration;
+            event.commit();
+        }
+    }
+
+    /**
+     * @param start Zeitpunkt des Klicks, von {@link #begin()}
+     */
+    public static void popupShown(long start) {
+        if (start == 0) {
+            return;
+        }
+        long latency = System.nanoTime() - start;
+        if (countersEnabled) {
+            POPUP_SHOWS.increment();
+            POPUP_SHOW_NANOS.add(latency);
+            MAX_POPUP_SHOW.accumulateAndGet(latency, Math::max);
+        }
+        ControlEvents.PopupShow event = new ControlEvents.PopupShow();
+        if (event.shouldCommit()) {
+            event.latency = latency;
+            event.commit();
+        }
+    }
+
+    /**
+     * Meldet das MBean unter {@link #OBJECT_NAME} an, falls das nicht schon geschehen ist. Geschieht beim Laden
+     * der Klasse automatisch; ein Fehler wird dort nur geloggt.
+     *
+     * @throws IllegalStateException falls das MBean nicht angemeldet werden kann
+     */
+    public static synchronized void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName  name   = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new StandardMBean(new Bean(), ControlMetricsMBean.class), name);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("could not register " + OBJECT_NAME, e);
+        }
+    }
+
+    public static boolean isEnabled() {
+        return countersEnabled;
+    }
+
+    /**
+     * Schaltet die Zaehler ein oder aus; die JFR-Events haengen nur von der Aufzeichnung ab.
+     */
+    public static void setEnabled(boolean enabled) {
+        countersEnabled = enabled;
+        updateActive();
+    }
+
+    private static void updateRecording() {
+        boolean running = false;
+        if (FlightRecorder.isInitialized()) {
+            for (Recording each : FlightRecorder.getFlightRecorder().getRecordings()) {
+                running |= each.getState() == RecordingState.RUNNING;
+            }
+        }
+        recording = running;
+        updateActive();
+    }
+
+    private static void updateActive() {
+        active = countersEnabled || recording;
+    }
+
+    public static long getValueUpdates() {
+        return VALUE_UPDATES.sum();
+    }
+
+    public static long getTransitions() {
+        return TRANSITIONS.sum();
+    }
+
+    public static long getResizes() {
+        return RESIZES.sum();
+    }
+
+    public static long getAverageResizeNanos() {
+        long count = RESIZES.sum();
+        return count == 0 ? 0 : RESIZE_NANOS.sum() / count;
+    }
+
+    public static long getBaseColorApplications() {
+        return BASE_COLOR_APPLIED.sum();
+    }
+
+    public static long getValidations() {
+        return VALIDATIONS.sum();
+    }
+
+    public static long getInvalidInputs() {
+        return INVALID_INPUTS.sum();
+    }
+
+    public static long getAverageValidationNanos() {
+        long count = VALIDATIONS.sum();
+        return count == 0 ? 0 : VALIDATION_NANOS.sum() / count;
+    }
+
+    public static long getMaxValidationNanos() {
+        return MAX_VALIDATION.get();
+    }
+
+    public static long getPopupShows() {
+        return POPUP_SHOWS.sum();
+    }
+
+    public static long getAveragePopupShowNanos() {
+        long count = POPUP_SHOWS.sum();
+        return count == 0 ? 0 : POPUP_SHOW_NANOS.sum() / count;
+    }
+
+    public static long getMaxPopupShowNanos() {
+        return MAX_POPUP_SHOW.get();
+    }
+
+    public static void reset() {
+        VALUE_UPDATES.reset();
+        TRANSITIONS.reset();
+        RESIZES.reset();
+        RESIZE_NANOS.reset();
+        BASE_COLOR_APPLIED.reset();
+        VALIDATIONS.reset();
+        INVALID_INPUTS.reset();
+        VALIDATION_NANOS.reset();
+        MAX_VALIDATION.set(0);
+        POPUP_SHOWS.reset();
+        POPUP_SHOW_NANOS.reset();
+        MAX_POPUP_SHOW.set(0);
+    }
+
+    // Standard MBeans muessen Instanzen sein, die Messwerte sind aber statisch
+    private static final class Bean implements ControlMetricsMBean {
+        @Override
+        public boolean isEnabled() {
+            return ControlMetrics.isEnabled();
+        }
+
+        @Override
+        public void setEnabled(boolean enabled) {
+            ControlMetrics.setEnabled(enabled);
+        }
+
+        @Override
+        public long getValueUpdates() {
+            return ControlMetrics.getValueUpdates();
+        }
+
+        @Override
+        public long getTransitions() {
+            return ControlMetrics.getTransitions();
+        }
+
+        @Override
+        public long getResizes() {
+            return ControlMetrics.getResizes();
+        }
+
+        @Override
+        public long getAverageResizeNanos() {
+            return ControlMetrics.getAverageResizeNanos();
+        }
+
+        @Override
+        public long getBaseColorApplications() {
+            return ControlMetrics.getBaseColorApplications();
+        }
+
+        @Override
+        public long getValidations() {
+            return ControlMetrics.getValidations();
+        }
+
+        @Override
+        public long getInvalidInputs() {
+            return ControlMetrics.getInvalidInputs();
+        }
+
+        @Override
+        public long getAverageValidationNanos() {
+            return ControlMetrics.getAverageValidationNanos();
+        }
+
+        @Override
+        public long getMaxValidationNanos() {
+            return ControlMetrics.getMaxValidationNanos();
+        }
+
+        @Override
+        public long getPopupShows() {
+            return ControlMetrics.getPopupShows();
+        }
+
+        @Override
+        public long getAveragePopupShowNanos() {
+            return ControlMetrics.getAveragePopupShowNanos();
+        }
+
+        @Override
+        public long getMaxPopupShowNanos() {
+            return ControlMetrics.getMaxPopupShowNanos();
+        }
+
+        @Override
+        public void reset() {
+            ControlMetrics.reset();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package cuie.project.common;
+
+/**
+ * JMX-Sicht auf {@link ControlMetrics}, angemeldet unter {@link ControlMetrics#OBJECT_NAME}.
+ *
+ * Dauern in Nanosekunden.
+ */
+public interface ControlMetricsMBean {
+    /**
+     * @return true, falls die Zaehler laufen
+     */
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    /**
+     * @return Anzahl neuer Tachometer-Werte
+     */
+    long getValueUpdates();
+
+    /**
+     * @return Anzahl Ein-/Aus-Animationen der Tachometer
+     */
+    long getTransitions();
+
+    /**
+     * @return Anzahl resize-Durchgaenge der Tachometer, die etwas geaendert haben
+     */
+    long getResizes();
+
+    long getAverageResizeNanos();
+
+    /**
+     * @return Anzahl aus CSS uebernommener baseColors
+     */
+    long getBaseColorApplications();
+
+    /**
+     * @return Anzahl validierter Eingaben der BusinessControls
+     */
+    long getValidations();
+
+    /**
+     * @return Anzahl davon ungueltiger Eingaben
+     */
+    long getInvalidInputs();
+
+    long getAverageValidationNanos();
+
+    long getMaxValidationNanos();
+
+    /**
+     * @return Anzahl angezeigter Popups der BusinessSkins
+     */
+    long getPopupShows();
+
+    long getAveragePopupShowNanos();
+
+    long getMaxPopupShowNanos();
+
+    void reset();
+}
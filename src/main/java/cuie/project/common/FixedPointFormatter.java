@@ -0,0 +1,168 @@
+package cuie.project.common;
+
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+/**
+ * Formatiert Zahlen mit einer festen Anzahl Nachkommastellen, ohne pro Aufruf einen Formatter, StringBuilder
+ * oder geboxte Argumente zu erzeugen.
+ *
+ * Die Ziffern werden in einen wiederverwendeten Puffer geschrieben. Ist das Ergebnis gleich wie beim letzten
+ * Aufruf, wird dieselbe String-Instanz zurueckgegeben; ein Vergleich mit {@code ==} reicht also, um unnoetige
+ * Text-Updates zu vermeiden. Das Ergebnis entspricht {@code String.format(locale, "%,.2f", value)} bzw.
+ * {@code "%.2f"} ohne Gruppierung.
+ *
+ * Eine Instanz ist nicht thread-safe und wird typischerweise pro Control auf dem FX-Thread verwendet.
+ *
+ * @author Cristine Paduga / Chi Cuong Nguyen
+ */
+public final class FixedPointFormatter {
+    private static final long[] POWERS_OF_TEN = {1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L};
+
+    // schlimmster Fall ohne Suffix, format(Long.MIN_VALUE) mit Gruppierung und 6 Nachkommastellen:
+    // 19 Ziffern, 6 Gruppierungszeichen, Dezimalzeichen, Nachkommastellen und Minuszeichen
+    private static final int MAX_CHARS = 19 + 6 + 1 + (POWERS_OF_TEN.length - 1) + 1;
+
+    // ab hier passt value * 10^fractionDigits nicht mehr sicher in ein long
+    private static final double FAST_PATH_LIMIT = 1e15;
+    private static final double HALF_TOLERANCE  = 1e-6;
+
+    private final Locale  locale;
+    private final int     fractionDigits;
+    private final boolean grouping;
+    private final String  suffix;
+
+    private final char groupingSeparator;
+    private final char decimalSeparator;
+    private final char minusSign;
+
+    private final char[] buffer;
+
+    private String last;
+
+    /**
+     * @param locale bestimmt Gruppierungs-, Dezimal- und Minuszeichen (fuer de-CH z.B. 12'345.67)
+     * @param fractionDigits Anzahl Nachkommastellen, zwischen 0 und 6
+     * @param grouping true, falls Tausender gruppiert werden sollen
+     * @param suffix wird unveraendert angehaengt, z.B. " kW"
+     */
+    public FixedPointFormatter(Locale locale, int fractionDigits, boolean grouping, String suffix) {
+        if (fractionDigits < 0 || fractionDigits >= POWERS_OF_TEN.length) {
+            throw new IllegalArgumentException("fractionDigits must be between 0 and " + (POWERS_OF_TEN.length - 1));
+        }
+        DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(locale);
+
+        this.locale            = locale;
+        this.fractionDigits    = fractionDigits;
+        this.grouping          = grouping;
+        this.suffix            = suffix;
+        this.groupingSeparator = symbols.getGroupingSeparator();
+        this.decimalSeparator  = symbols.getDecimalSeparator();
+        this.minusSign         = symbols.getMinusSign();
+        this.buffer            = new char[MAX_CHARS + suffix.length()];
+    }
+
+    /**
+     * @param value der zu formatierende Wert
+     * @return der formatierte Wert, dieselbe Instanz wie beim letzten Aufruf, falls sich der Text nicht geaendert hat
+     */
+    public String format(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value) || Math.abs(value) >= FAST_PATH_LIMIT) {
+            return formatSlow(value);
+        }
+        double product  = Math.abs(value) * POWERS_OF_TEN[fractionDigits];
+        double fraction = product - Math.floor(product);
+        // bei Werten genau auf der Haelfte entscheidet die Dezimaldarstellung, nicht das gerundete Produkt
+        if (Math.abs(fraction - 0.5) < HALF_TOLERANCE + 8 * Math.ulp(product)) {
+            return formatSlow(value);
+        }
+
+        return write(value < 0, -Math.round(product), fractionDigits);
+    }
+
+    /**
+     * Formatiert eine Ganzzahl; es werden trotzdem die konfigurierten Nachkommastellen (Nullen) ausgegeben.
+     *
+     * @param value der zu formatierende Wert
+     * @return der formatierte Wert, dieselbe Instanz wie beim letzten Aufruf, falls sich der Text nicht geaendert hat
+     */
+    public String format(long value) {
+        // negativ gerechnet, damit auch Long.MIN_VALUE funktioniert
+        return write(value < 0, value > 0 ? -value : value, 0);
+    }
+
+    /**
+     * @param negative true, falls ein Minuszeichen ausgegeben werden soll
+     * @param negativeScaled Betrag des Werts, negiert und mit 10^scaledDigits skaliert
+     * @param scaledDigits Anzahl Nachkommastellen, die in negativeScaled enthalten sind, die restlichen sind 0
+     */
+    private String write(boolean negative, long negativeScaled, int scaledDigits) {
+        long rest = negativeScaled;
+        int  pos  = writeSuffix();
+        for (int i = 0; i < fractionDigits; i++) {
+            if (i < fractionDigits - scaledDigits) {
+                buffer[--pos] = '0';
+            } else {
+                buffer[--pos] = (char) ('0' - rest % 10);
+                rest /= 10;
+            }
+        }
+        if (fractionDigits > 0) {
+            buffer[--pos] = decimalSeparator;
+        }
+        pos = writeIntegerPart(pos, rest);
+        if (negative) {
+            buffer[--pos] = minusSign;
+        }
+
+        return toText(pos);
+    }
+
+    private String formatSlow(double value) {
+        return remember(String.format(locale, "%" + (grouping ? "," : "") + "." + fractionDigits + "f", value) + suffix);
+    }
+
+    private int writeSuffix() {
+        int pos = buffer.length;
+        for (int i = suffix.length() - 1; i >= 0; i--) {
+            buffer[--pos] = suffix.charAt(i);
+        }
+        return pos;
+    }
+
+    private int writeIntegerPart(int pos, long negativeValue) {
+        long rest   = negativeValue;
+        int  digits = 0;
+        do {
+            if (grouping && digits > 0 && digits % 3 == 0) {
+                buffer[--pos] = groupingSeparator;
+            }
+            buffer[--pos] = (char) ('0' - rest % 10);
+            rest /= 10;
+            digits++;
+        } while (rest != 0);
+
+        return pos;
+    }
+
+    private String toText(int from) {
+        int length = buffer.length - from;
+        if (last != null && last.length() == length) {
+            boolean same = true;
+            for (int i = 0; i < length && same; i++) {
+                same = last.charAt(i) == buffer[from + i];
+            }
+            if (same) {
+                return last;
+            }
+        }
+        return remember(new String(buffer, from, length));
+    }
+
+    private String remember(String text) {
+        if (!text.equals(last)) {
+            last = text;
+        }
+        return last;
+    }
+}
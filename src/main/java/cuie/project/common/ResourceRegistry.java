@@ -0,0 +1,132 @@
+package cuie.project.common;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javafx.scene.Parent;
+import javafx.scene.text.Font;
+
+/**
+ * Zentrale Verwaltung der Fonts und Stylesheets aller Custom Controls.
+ *
+ * Jeder Font wird pro JVM genau einmal geladen und jede Stylesheet-URL genau einmal aufgeloest, egal wie
+ * viele Controls erzeugt werden und aus welchem Thread. Mit {@link #preloadInBackground()} koennen die Fonts
+ * beim Applikationsstart (z.B. in {@code Application.init()}) in einem Hintergrund-Thread geladen werden.
+ *
+ * @author Cristine Paduga / Chi Cuong Nguyen
+ */
+public final class ResourceRegistry {
+
+    /**
+     * Alle Fonts, die von den Controls in diesem Projekt verwendet werden.
+     */
+    public static final List<String> ALL_FONTS = List.of("/fonts/Lato/Lato-Lig.ttf",
+                                                         "/fonts/Lato/Lato-Reg.ttf",
+                                                         "/fonts/ds_digital/DS-DIGI.TTF",
+                                                         "/fonts/fontawesome-webfont.ttf");
+
+    // Font.loadFont liefert null, falls der Font nicht geladen werden kann; das soll auch nur einmal passieren
+    private static final ConcurrentMap<String, Optional<Font>> FONTS       = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, String>         STYLESHEETS = new ConcurrentHashMap<>();
+
+    private ResourceRegistry() {
+    }
+
+    /**
+     * Laedt die angegebenen Fonts, falls das nicht schon passiert ist.
+     *
+     * @param fonts absolute Pfade der Font-Dateien im Classpath
+     */
+    public static void loadFonts(String... fonts) {
+        for (String font : fonts) {
+            loadFont(font);
+        }
+    }
+
+    /**
+     * Laedt den angegebenen Font, falls das nicht schon passiert ist.
+     *
+     * @param font absoluter Pfad der Font-Datei im Classpath
+     * @return der geladene Font oder null, falls er nicht geladen werden konnte
+     */
+    public static Font loadFont(String font) {
+        return FONTS.computeIfAbsent(font, ResourceRegistry::readFont).orElse(null);
+    }
+
+    /**
+     * Liefert die URL des Stylesheets, aufgeloest relativ zur angegebenen Klasse wie bei {@link Class#getResource(String)}.
+     *
+     * @param anchor Klasse, relativ zu deren Package die Datei gesucht wird
+     * @param file Name des Stylesheets
+     * @return die URL in externer Form
+     */
+    public static String stylesheet(Class<?> anchor, String file) {
+        String key = file.startsWith("/") ? file : anchor.getPackageName().replace('.', '/') + "/" + file;
+
+        return STYLESHEETS.computeIfAbsent(key, k -> {
+            URL url = anchor.getResource(file);
+            if (url == null) {
+                throw new IllegalArgumentException("stylesheet not found: " + k);
+            }
+            return url.toExternalForm();
+        });
+    }
+
+    /**
+     * Haengt die Stylesheets an den angegebenen Parent, falls sie dort noch nicht eingetragen sind.
+     *
+     * @param parent Node, dessen Stylesheets ergaenzt werden
+     * @param anchor Klasse, relativ zu deren Package die Dateien gesucht werden
+     * @param files Namen der Stylesheets
+     */
+    public static void addStylesheets(Parent parent, Class<?> anchor, String... files) {
+        for (String file : files) {
+            String stylesheet = stylesheet(anchor, file);
+            if (!parent.getStylesheets().contains(stylesheet)) {
+                parent.getStylesheets().add(stylesheet);
+            }
+        }
+    }
+
+    /**
+     * Laedt alle Fonts aus {@link #ALL_FONTS} in einem eigenen Daemon-Thread.
+     *
+     * Das JavaFX-Toolkit muss bereits gestartet sein.
+     *
+     * @return Future, das abgeschlossen ist, sobald alle Fonts geladen sind
+     */
+    public static CompletableFuture<Void> preloadInBackground() {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+
+        Thread loader = new Thread(() -> {
+            try {
+                ALL_FONTS.forEach(ResourceRegistry::loadFont);
+                future.complete(null);
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        }, "resource-preloader");
+        loader.setDaemon(true);
+        loader.start();
+
+        return future;
+    }
+
+    private static Optional<Font> readFont(String font) {
+        try (InputStream stream = ResourceRegistry.class.getResourceAsStream(font)) {
+            if (stream == null) {
+                throw new IllegalArgumentException("font not found: " + font);
+            }
+            return Optional.ofNullable(Font.loadFont(stream, 0));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
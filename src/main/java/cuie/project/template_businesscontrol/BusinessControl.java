@@ -1,17 +1,30 @@
 package cuie.project.template_businesscontrol;
 
-import java.util.regex.Pattern;
-
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.css.PseudoClass;
 import javafx.scene.control.Control;
 import javafx.scene.control.Skin;
-import javafx.scene.text.Font;
+import javafx.util.Duration;
+
+import cuie.project.common.ControlMetrics;
+import cuie.project.common.ResourceRegistry;
 
 //todo: umbenennen
 public class BusinessControl extends Control {
@@ -19,16 +32,33 @@ public class BusinessControl extends Control {
     private static final PseudoClass INVALID_CLASS   = PseudoClass.getPseudoClass("invalid");
 
 
-    //todo: durch die eigenen regulaeren Ausdruecke ersetzen
-    static final String FORMATTED_INTEGER_PATTERN = "%,d";
+    static final Locale CH = new Locale("de", "CH");
 
-    private static final String INTEGER_REGEX    = "[+-]?[\\d']{1,14}";
-    private static final Pattern INTEGER_PATTERN = Pattern.compile(INTEGER_REGEX);
+    // ein Thread fuer die asynchrone Validierung aller BusinessControls
+    private static final ExecutorService VALIDATION_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "business-control-validation");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     //todo: Integer bei Bedarf ersetzen
     private final IntegerProperty value = new SimpleIntegerProperty();
     private final StringProperty userFacingText = new SimpleStringProperty();
 
+    private final ObjectProperty<ValueConverter> converter = new SimpleObjectProperty<>(new IntegerConverter()) {
+        @Override
+        protected void invalidated() {
+            setUserFacingText(convertToString(getValue()));
+        }
+    };
+
+    // validiert die Eingabe erst nach einer Tipp-Pause und in einem Hintergrund-Thread
+    private final BooleanProperty          asyncValidation = new SimpleBooleanProperty(false);
+    private final ObjectProperty<Duration> validationDelay = new SimpleObjectProperty<>(Duration.millis(300));
+
+    private PauseTransition debounce;
+    private long            validationGeneration;
+
     private final BooleanProperty mandatory = new SimpleBooleanProperty() {
         @Override
         protected void invalidated() {
@@ -48,6 +78,14 @@ public class BusinessControl extends Control {
     private final BooleanProperty readOnly     = new SimpleBooleanProperty();
     private final StringProperty  label        = new SimpleStringProperty();
     private final StringProperty  errorMessage = new SimpleStringProperty();
+    // Position des ersten falschen Zeichens in userFacingText, -1 falls gueltig oder unbekannt
+    private final IntegerProperty errorIndex   = new SimpleIntegerProperty(-1);
+
+    // Auswahlmoeglichkeiten fuer den DropDownChooser
+    private final ObservableList<CatalogueEntry> catalogue = FXCollections.observableArrayList();
+
+    // liefert den Katalog, wird in einem Hintergrund-Thread aufgerufen
+    private final ObjectProperty<Supplier<? extends List<CatalogueEntry>>> catalogueLoader = new SimpleObjectProperty<>();
 
 
     public BusinessControl() {
@@ -78,57 +116,84 @@ public class BusinessControl extends Control {
          setUserFacingText(convertToString(getValue()));
     }
 
-    //todo: durch geeignete Konvertierungslogik ersetzen
     private void addValueChangeListener() {
         userFacingText.addListener((observable, oldValue, userInput) -> {
+            // jede Eingabe macht eine noch laufende asynchrone Validierung ungueltig
+            long generation = ++validationGeneration;
+
             if (isMandatory() && (userInput == null || userInput.isEmpty())) {
                 setInvalid(true);
                 setErrorMessage("Mandatory Field");
+                setErrorIndex(-1);
                 return;
             }
 
-            if (isInteger(userInput)) {
-                setInvalid(false);
-                setErrorMessage(null);
-                setValue(convertToInt(userInput));
+            if (isAsyncValidation()) {
+                validateLater(userInput, generation);
             } else {
-                setInvalid(true);
-                setErrorMessage("Not an Integer");
+                long       start      = ControlMetrics.begin();
+                Conversion conversion = getConverter().convert(userInput);
+                ControlMetrics.validated(start, conversion.isValid(), false);
+                apply(conversion);
             }
         });
 
-        valueProperty().addListener((observable, oldValue, newValue) -> {
+        valueProperty().addListener(observable -> {
             setInvalid(false);
             setErrorMessage(null);
-            setUserFacingText(convertToString(newValue.intValue()));
+            setErrorIndex(-1);
+            setUserFacingText(convertToString(getValue()));
         });
     }
 
-    //todo: Forgiving Format implementieren
-
-    public void loadFonts(String... font){
-        for(String f : font){
-            Font.loadFont(getClass().getResourceAsStream(f), 0);
+    private void validateLater(String userInput, long generation) {
+        if (debounce == null) {
+            debounce = new PauseTransition();
         }
+        debounce.stop();
+        debounce.setDuration(getValidationDelay());
+        debounce.setOnFinished(event -> {
+            ValueConverter currentConverter = getConverter();
+            VALIDATION_EXECUTOR.execute(() -> {
+                long       start      = ControlMetrics.begin();
+                Conversion conversion = currentConverter.convert(userInput);
+                ControlMetrics.validated(start, conversion.isValid(), true);
+                Platform.runLater(() -> {
+                    // nur uebernehmen, falls inzwischen nicht weiter getippt wurde
+                    if (generation == validationGeneration) {
+                        apply(conversion);
+                    }
+                });
+            });
+        });
+        debounce.playFromStart();
     }
 
-    public void addStylesheetFiles(String... stylesheetFile){
-        for(String file : stylesheetFile){
-            String stylesheet = getClass().getResource(file).toExternalForm();
-            getStylesheets().add(stylesheet);
+    private void apply(Conversion conversion) {
+        if (conversion.isValid()) {
+            setInvalid(false);
+            setErrorMessage(null);
+            setErrorIndex(-1);
+            setValue(conversion.getValue());
+        } else {
+            setInvalid(true);
+            setErrorMessage(conversion.getErrorMessage());
+            setErrorIndex(conversion.getErrorIndex());
         }
     }
 
-    private boolean isInteger(String userInput) {
-        return INTEGER_PATTERN.matcher(userInput).matches();
+    //todo: Forgiving Format implementieren
+
+    public void loadFonts(String... font){
+        ResourceRegistry.loadFonts(font);
     }
 
-    private int convertToInt(String userInput) {
-        return Integer.parseInt(userInput);
+    public void addStylesheetFiles(String... stylesheetFile){
+        ResourceRegistry.addStylesheets(this, BusinessControl.class, stylesheetFile);
     }
 
     private String convertToString(int newValue) {
-        return String.format(FORMATTED_INTEGER_PATTERN, newValue);
+        return getConverter().toString(newValue);
     }
 
 
@@ -205,6 +270,18 @@ public class BusinessControl extends Control {
         this.errorMessage.set(errorMessage);
     }
 
+    public int getErrorIndex() {
+        return errorIndex.get();
+    }
+
+    public IntegerProperty errorIndexProperty() {
+        return errorIndex;
+    }
+
+    public void setErrorIndex(int errorIndex) {
+        this.errorIndex.set(errorIndex);
+    }
+
     public String getUserFacingText() {
         return userFacingText.get();
     }
@@ -221,5 +298,65 @@ public class BusinessControl extends Control {
         return invalid.get();
     }
 
+    public ValueConverter getConverter() {
+        return converter.get();
+    }
+
+    public ObjectProperty<ValueConverter> converterProperty() {
+        return converter;
+    }
+
+    public void setConverter(ValueConverter converter) {
+        this.converter.set(converter);
+    }
+
+    public boolean isAsyncValidation() {
+        return asyncValidation.get();
+    }
+
+    /**
+     * Ist asyncValidation eingeschaltet, wird die Eingabe erst nach validationDelay ohne weitere Eingabe
+     * in einem Hintergrund-Thread konvertiert. Das Resultat wird nur uebernommen, wenn es noch aktuell ist.
+     */
+    public BooleanProperty asyncValidationProperty() {
+        return asyncValidation;
+    }
+
+    public void setAsyncValidation(boolean asyncValidation) {
+        this.asyncValidation.set(asyncValidation);
+    }
+
+    public Duration getValidationDelay() {
+        return validationDelay.get();
+    }
+
+    public ObjectProperty<Duration> validationDelayProperty() {
+        return validationDelay;
+    }
+
+    public void setValidationDelay(Duration validationDelay) {
+        this.validationDelay.set(validationDelay);
+    }
+
+    public ObservableList<CatalogueEntry> getCatalogue() {
+        return catalogue;
+    }
+
+    public Supplier<? extends List<CatalogueEntry>> getCatalogueLoader() {
+        return catalogueLoader.get();
+    }
+
+    /**
+     * Der Loader wird in einem Hintergrund-Thread aufgerufen, dort wird auch der Suchindex aufgebaut.
+     * Danach steht das Resultat in {@link #getCatalogue()}.
+     */
+    public ObjectProperty<Supplier<? extends List<CatalogueEntry>>> catalogueLoaderProperty() {
+        return catalogueLoader;
+    }
+
+    public void setCatalogueLoader(Supplier<? extends List<CatalogueEntry>> catalogueLoader) {
+        this.catalogueLoader.set(catalogueLoader);
+    }
+
 
 }
@@ -1,7 +1,5 @@
 package cuie.project.template_businesscontrol;
 
-import java.util.Arrays;
-
 import javafx.animation.Animation;
 import javafx.animation.FadeTransition;
 import javafx.animation.Interpolator;
@@ -15,12 +13,13 @@ import javafx.scene.control.SkinBase;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
-import javafx.scene.layout.Pane;
 import javafx.scene.layout.StackPane;
-import javafx.scene.text.Font;
 import javafx.stage.Popup;
 import javafx.util.Duration;
 
+import cuie.project.common.ControlMetrics;
+import cuie.project.common.ResourceRegistry;
+
 //todo: durch eigenen Skin ersetzen
 class BusinessSkin extends SkinBase<BusinessControl> {
     private static final int IMG_SIZE   = 12;
@@ -29,42 +28,49 @@ class BusinessSkin extends SkinBase<BusinessControl> {
     private static final String ANGLE_DOWN = "\uf107";
     private static final String ANGLE_UP   = "\uf106";
 
+    // geteilt wird nur das einmal dekodierte und skalierte Image, die ImageViews gehoeren dem jeweiligen Skin
     private enum State {
         VALID("Valid",      "valid.png"),
         INVALID("Invalid",  "invalid.png");
 
-        public final String    text;
-        public final ImageView imageView;
+        public final String text;
+        public final Image  image;
 
         State(final String text, final String file) {
             this.text = text;
             String url = BusinessSkin.class.getResource("/icons/" + file).toExternalForm();
-            this.imageView = new ImageView(new Image(url,
-                                                     IMG_SIZE, IMG_SIZE,
-                                                     true, false));
+            this.image = new Image(url,
+                                   IMG_SIZE, IMG_SIZE,
+                                   true, false);
         }
     }
 
     private static final String STYLE_CSS = "style.css";
 
     // all parts
-    private TextField editableNode;
-    private Label     readOnlyNode;
-    private Popup     popup;
-    private Pane      dropDownChooser;
-    private Button    chooserButton;
+    private TextField       editableNode;
+    private Label           readOnlyNode;
+    private Popup           popup;
+    private DropDownChooser dropDownChooser;
+    private Button          chooserButton;
+
+    private ImageView validIcon;
+    private ImageView invalidIcon;
 
     private StackPane drawingPane;
 
+    // werden erst erzeugt, wenn sich der Validierungs-Zustand zum ersten Mal aendert
     private Animation      invalidInputAnimation;
     private FadeTransition fadeOutValidIconAnimation;
 
+    // Zeitpunkt des Klicks auf den chooserButton, fuer ControlMetrics
+    private long popupRequested;
+
     BusinessSkin(BusinessControl control) {
         super(control);
         initializeSelf();
         initializeParts();
         layoutParts();
-        setupAnimations();
         setupEventHandlers();
         setupValueChangedListeners();
         setupBindings();
@@ -82,7 +88,10 @@ class BusinessSkin extends SkinBase<BusinessControl> {
         readOnlyNode = new Label();
         readOnlyNode.getStyleClass().add("read-only-node");
 
-        State.VALID.imageView.setOpacity(0.0);
+        validIcon = new ImageView(State.VALID.image);
+        validIcon.setOpacity(0.0);
+
+        invalidIcon = new ImageView(State.INVALID.image);
 
         chooserButton = new Button(ANGLE_DOWN);
         chooserButton.getStyleClass().add("chooser-button");
@@ -100,12 +109,9 @@ class BusinessSkin extends SkinBase<BusinessControl> {
         StackPane.setAlignment(chooserButton, Pos.CENTER_RIGHT);
         drawingPane.getChildren().addAll(editableNode, chooserButton, readOnlyNode);
 
-        Arrays.stream(State.values())
-              .map(state -> state.imageView)
-              .forEach(imageView -> {
-                  imageView.setManaged(false);
-                  drawingPane.getChildren().add(imageView);
-              });
+        validIcon.setManaged(false);
+        invalidIcon.setManaged(false);
+        drawingPane.getChildren().addAll(validIcon, invalidIcon);
 
         StackPane.setAlignment(editableNode, Pos.CENTER_LEFT);
         StackPane.setAlignment(readOnlyNode, Pos.CENTER_LEFT);
@@ -113,7 +119,7 @@ class BusinessSkin extends SkinBase<BusinessControl> {
         getChildren().add(drawingPane);
     }
 
-    private void setupAnimations() {
+    private Animation createInvalidInputAnimation() {
         int      delta    = 5;
         Duration duration = Duration.millis(30);
 
@@ -131,13 +137,19 @@ class BusinessSkin extends SkinBase<BusinessControl> {
         moveLeft.setCycleCount(2);
         moveLeft.setInterpolator(Interpolator.LINEAR);
 
-        invalidInputAnimation = new SequentialTransition(moveRight, moveLeft);
-        invalidInputAnimation.setCycleCount(3);
+        Animation animation = new SequentialTransition(moveRight, moveLeft);
+        animation.setCycleCount(3);
 
-        fadeOutValidIconAnimation = new FadeTransition(Duration.millis(500), State.VALID.imageView);
-        fadeOutValidIconAnimation.setDelay(Duration.seconds(1));
-        fadeOutValidIconAnimation.setFromValue(1.0);
-        fadeOutValidIconAnimation.setToValue(0.0);
+        return animation;
+    }
+
+    private FadeTransition createFadeOutValidIconAnimation() {
+        FadeTransition animation = new FadeTransition(Duration.millis(500), validIcon);
+        animation.setDelay(Duration.seconds(1));
+        animation.setFromValue(1.0);
+        animation.setToValue(0.0);
+
+        return animation;
     }
 
     private void setupEventHandlers() {
@@ -145,6 +157,7 @@ class BusinessSkin extends SkinBase<BusinessControl> {
             if (popup.isShowing()) {
                 popup.hide();
             } else {
+                popupRequested = ControlMetrics.begin();
                 popup.show(editableNode.getScene().getWindow());
             }
         });
@@ -153,11 +166,20 @@ class BusinessSkin extends SkinBase<BusinessControl> {
 
         popup.setOnShown(event -> {
             chooserButton.setText(ANGLE_UP);
+            dropDownChooser.filter(searchText(editableNode.getText()));
             Point2D location = editableNode.localToScreen(editableNode.getWidth() - dropDownChooser.getPrefWidth() - 3,
                                                           editableNode.getHeight() -3);
 
             popup.setX(location.getX());
             popup.setY(location.getY());
+
+            ControlMetrics.popupShown(popupRequested);
+            popupRequested = 0;
+        });
+
+        dropDownChooser.setOnChosen(entry -> {
+            getSkinnable().setValue(entry.getId());
+            popup.hide();
         });
 
         editableNode.setOnKeyPressed(event -> {
@@ -179,18 +201,26 @@ class BusinessSkin extends SkinBase<BusinessControl> {
     }
 
     private void setupValueChangedListeners() {
+        editableNode.textProperty().addListener((observable, oldValue, newValue) -> {
+            if (popup.isShowing()) {
+                dropDownChooser.filter(searchText(newValue));
+            }
+        });
+
         getSkinnable().invalidProperty().addListener((observable, oldValue, newValue) -> {
             if (newValue) {
                 startInvalidInputAnimation();
             } else {
-                State.VALID.imageView.setOpacity(1.0);
+                validIcon.setOpacity(1.0);
                 startFadeOutValidIconTransition();
             }
         });
     }
 
     private void setupBindings() {
-        readOnlyNode.textProperty().bind(getSkinnable().valueProperty().asString(BusinessControl.FORMATTED_INTEGER_PATTERN));
+        getSkinnable().valueProperty().addListener(observable -> updateReadOnlyNode());
+        getSkinnable().converterProperty().addListener(observable -> updateReadOnlyNode());
+        updateReadOnlyNode();
         editableNode.textProperty().bindBidirectional(getSkinnable().userFacingTextProperty());
 
         editableNode.promptTextProperty().bind(getSkinnable().labelProperty());
@@ -199,15 +229,46 @@ class BusinessSkin extends SkinBase<BusinessControl> {
         chooserButton.visibleProperty().bind(getSkinnable().readOnlyProperty().not());
         readOnlyNode.visibleProperty().bind(getSkinnable().readOnlyProperty());
 
-        State.INVALID.imageView.visibleProperty().bind(getSkinnable().invalidProperty());
+        invalidIcon.visibleProperty().bind(getSkinnable().invalidProperty());
+
+        invalidIcon.xProperty().bind(editableNode.translateXProperty().add(editableNode.layoutXProperty()).subtract(IMG_OFFSET));
+        invalidIcon.yProperty().bind(editableNode.translateYProperty().add(editableNode.layoutYProperty()).subtract(IMG_OFFSET));
+        validIcon.xProperty().bind(editableNode.layoutXProperty().subtract(IMG_OFFSET));
+        validIcon.yProperty().bind(editableNode.layoutYProperty().subtract(IMG_OFFSET));
+    }
 
-        State.INVALID.imageView.xProperty().bind(editableNode.translateXProperty().add(editableNode.layoutXProperty()).subtract(IMG_OFFSET));
-        State.INVALID.imageView.yProperty().bind(editableNode.translateYProperty().add(editableNode.layoutYProperty()).subtract(IMG_OFFSET));
-        State.VALID.imageView.xProperty().bind(editableNode.layoutXProperty().subtract(IMG_OFFSET));
-        State.VALID.imageView.yProperty().bind(editableNode.layoutYProperty().subtract(IMG_OFFSET));
+    /**
+     * Entfernt die Tausender-Gruppierung (' oder ’ zwischen zwei Ziffern) aus dem angezeigten Text, damit z.B.
+     * "1’234" im Katalog die Id 1234 findet.
+     */
+    static String searchText(String text) {
+        if (text == null || text.indexOf('\'') < 0 && text.indexOf('\u2019') < 0) {
+            return text;
+        }
+        StringBuilder builder = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            boolean grouping = (c == '\'' || c == '\u2019')
+                               && i > 0 && Character.isDigit(text.charAt(i - 1))
+                               && i + 1 < text.length() && Character.isDigit(text.charAt(i + 1));
+            if (!grouping) {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+    private void updateReadOnlyNode() {
+        String text = getSkinnable().getConverter().toString(getSkinnable().getValue());
+        if (text != readOnlyNode.getText()) {
+            readOnlyNode.setText(text);
+        }
     }
 
     private void startFadeOutValidIconTransition() {
+        if (fadeOutValidIconAnimation == null) {
+            fadeOutValidIconAnimation = createFadeOutValidIconAnimation();
+        }
         if (fadeOutValidIconAnimation.getStatus().equals(Animation.Status.RUNNING)) {
             return;
         }
@@ -215,6 +276,9 @@ class BusinessSkin extends SkinBase<BusinessControl> {
     }
 
     private void startInvalidInputAnimation() {
+        if (invalidInputAnimation == null) {
+            invalidInputAnimation = createInvalidInputAnimation();
+        }
         if (invalidInputAnimation.getStatus().equals(Animation.Status.RUNNING)) {
             invalidInputAnimation.stop();
         }
@@ -222,8 +286,6 @@ class BusinessSkin extends SkinBase<BusinessControl> {
     }
 
     private void loadFonts(String... font){
-        for(String f : font){
-            Font.loadFont(getClass().getResourceAsStream(f), 0);
-        }
+        ResourceRegistry.loadFonts(font);
     }
 }
@@ -0,0 +1,48 @@
+package cuie.project.template_businesscontrol;
+
+import java.util.Objects;
+
+/**
+ * Ein Eintrag im Katalog des DropDownChoosers, z.B. eine Windkraftanlage mit ihrer ID.
+ *
+ * Wird ein Eintrag ausgewaehlt, uebernimmt das BusinessControl die ID als value.
+ */
+public final class CatalogueEntry {
+    private final int    id;
+    private final String name;
+
+    public CatalogueEntry(int id, String name) {
+        this.id   = id;
+        this.name = Objects.requireNonNull(name);
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CatalogueEntry)) {
+            return false;
+        }
+        CatalogueEntry that = (CatalogueEntry) o;
+        return id == that.id && name.equals(that.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * id + name.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + id + ")";
+    }
+}
@@ -0,0 +1,193 @@
+package cuie.project.template_businesscontrol;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Unveraenderlicher In-Memory-Index ueber die Eintraege des Katalogs.
+ *
+ * Gesucht wird im Namen und in der ID, ohne Gross-/Kleinschreibung. Anfragen mit ein oder zwei Zeichen
+ * liefern die Eintraege, bei denen ein Wort mit der Anfrage beginnt (Prefix-Index ueber die Wortanfaenge).
+ * Laengere Anfragen liefern alle Eintraege, die die Anfrage enthalten; dazu werden die Posting-Listen
+ * der Trigramme der Anfrage geschnitten und die verbleibenden Kandidaten einzeln geprueft.
+ *
+ * Die Resultate sind Positionen in der urspruenglichen Liste, aufsteigend sortiert.
+ */
+final class CatalogueIndex {
+    private static final int[] NONE = new int[0];
+
+    private final CatalogueEntry[] entries;
+    private final String[]         keys;
+    private final int[]            all;
+
+    // Schluessel: Laenge des Grams in den obersten Bits, darunter bis zu drei Zeichen a 16 Bit
+    private final Map<Long, int[]> grams;
+
+    private CatalogueIndex(CatalogueEntry[] entries, String[] keys, Map<Long, int[]> grams) {
+        this.entries = entries;
+        this.keys    = keys;
+        this.grams   = grams;
+        this.all     = new int[entries.length];
+        Arrays.setAll(all, i -> i);
+    }
+
+    /**
+     * Baut den Index auf. Die Laufzeit ist linear in der Gesamtlaenge aller Namen.
+     *
+     * @param catalogue die Eintraege, die Reihenfolge bestimmt die Reihenfolge der Resultate
+     * @return der Index
+     */
+    static CatalogueIndex build(List<CatalogueEntry> catalogue) {
+        CatalogueEntry[]    entries  = catalogue.toArray(new CatalogueEntry[0]);
+        String[]            keys     = new String[entries.length];
+        Map<Long, Postings> postings = new HashMap<>();
+
+        for (int entry = 0; entry < entries.length; entry++) {
+            String key = normalize(entries[entry].getName() + " " + entries[entry].getId());
+            keys[entry] = key;
+
+            for (int i = 0; i < key.length(); i++) {
+                if (isWordStart(key, i)) {
+                    add(postings, gram(key, i, 1), entry);
+                    if (i + 1 < key.length()) {
+                        add(postings, gram(key, i, 2), entry);
+                    }
+                }
+                if (i + 2 < key.length()) {
+                    add(postings, gram(key, i, 3), entry);
+                }
+            }
+        }
+
+        Map<Long, int[]> grams = new HashMap<>(postings.size() * 2);
+        postings.forEach((gram, list) -> grams.put(gram, list.toArray()));
+
+        return new CatalogueIndex(entries, keys, grams);
+    }
+
+    int size() {
+        return entries.length;
+    }
+
+    CatalogueEntry get(int index) {
+        return entries[index];
+    }
+
+    /**
+     * @param query Suchbegriff, leer oder null liefert alle Eintraege
+     * @return Positionen der passenden Eintraege, aufsteigend sortiert; das Array darf nicht veraendert werden
+     */
+    int[] search(String query) {
+        String normalized = query == null ? "" : normalize(query.strip());
+        if (normalized.isEmpty()) {
+            return all;
+        }
+        if (normalized.length() < 3) {
+            if (!isWordStart(normalized, 0) || !Character.isLetterOrDigit(normalized.charAt(normalized.length() - 1))) {
+                return scan(normalized);
+            }
+            return grams.getOrDefault(gram(normalized, 0, normalized.length()), NONE);
+        }
+
+        int[][] lists = new int[normalized.length() - 2][];
+        for (int i = 0; i < lists.length; i++) {
+            int[] list = grams.get(gram(normalized, i, 3));
+            if (list == null) {
+                return NONE;
+            }
+            lists[i] = list;
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.length, b.length));
+
+        // Kopie, damit die Posting-Listen beim Schneiden unveraendert bleiben
+        int[] candidates = lists[0].clone();
+        int   count      = candidates.length;
+        for (int i = 1; i < lists.length && count > 0; i++) {
+            count = intersect(candidates, count, lists[i]);
+        }
+
+        // alle Trigramme kommen vor, aber nicht unbedingt zusammenhaengend
+        int[] result = new int[count];
+        int   found  = 0;
+        for (int i = 0; i < count; i++) {
+            if (keys[candidates[i]].contains(normalized)) {
+                result[found++] = candidates[i];
+            }
+        }
+        return found == result.length ? result : Arrays.copyOf(result, found);
+    }
+
+    private int[] scan(String normalized) {
+        int[] result = new int[entries.length];
+        int   found  = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i].contains(normalized)) {
+                result[found++] = i;
+            }
+        }
+        return Arrays.copyOf(result, found);
+    }
+
+    /**
+     * Schneidet die ersten count Elemente von target mit other; das Resultat steht danach am Anfang von target.
+     */
+    private int intersect(int[] target, int count, int[] other) {
+        int found = 0;
+        int j     = 0;
+        for (int i = 0; i < count && j < other.length; i++) {
+            int value = target[i];
+            while (j < other.length && other[j] < value) {
+                j++;
+            }
+            if (j < other.length && other[j] == value) {
+                target[found++] = value;
+            }
+        }
+        return found;
+    }
+
+    private static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isWordStart(String key, int i) {
+        return Character.isLetterOrDigit(key.charAt(i)) && (i == 0 || !Character.isLetterOrDigit(key.charAt(i - 1)));
+    }
+
+    private static long gram(String key, int from, int length) {
+        long gram = length;
+        for (int i = from; i < from + length; i++) {
+            gram = (gram << 16) | key.charAt(i);
+        }
+        return gram;
+    }
+
+    private static void add(Map<Long, Postings> postings, long gram, int entry) {
+        postings.computeIfAbsent(gram, g -> new Postings()).add(entry);
+    }
+
+    /**
+     * Wachsende int-Liste ohne Boxing, ignoriert direkt aufeinanderfolgende Duplikate.
+     */
+    private static final class Postings {
+        private int[] values = new int[4];
+        private int   size;
+
+        void add(int entry) {
+            if (size > 0 && values[size - 1] == entry) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = entry;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
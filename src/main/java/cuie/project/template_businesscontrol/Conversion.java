@@ -0,0 +1,53 @@
+package cuie.project.template_businesscontrol;
+
+/**
+ * Resultat von {@link ValueConverter#convert(String)}: entweder ein gueltiger Wert oder eine Fehlermeldung,
+ * falls bekannt mit der Position des ersten falschen Zeichens.
+ */
+public final class Conversion {
+    private final boolean valid;
+    private final int     value;
+    private final String  errorMessage;
+    private final int     errorIndex;
+
+    private Conversion(boolean valid, int value, String errorMessage, int errorIndex) {
+        this.valid        = valid;
+        this.value        = value;
+        this.errorMessage = errorMessage;
+        this.errorIndex   = errorIndex;
+    }
+
+    public static Conversion valid(int value) {
+        return new Conversion(true, value, null, -1);
+    }
+
+    public static Conversion invalid(String errorMessage) {
+        return invalid(errorMessage, -1);
+    }
+
+    /**
+     * @param errorIndex Position des ersten falschen Zeichens in der Benutzereingabe, -1 falls unbekannt
+     */
+    public static Conversion invalid(String errorMessage, int errorIndex) {
+        return new Conversion(false, 0, errorMessage, errorIndex);
+    }
+
+    public boolean isValid() {
+        return valid;
+    }
+
+    public int getValue() {
+        return value;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    /**
+     * @return Position des ersten falschen Zeichens in der Benutzereingabe, -1 falls gueltig oder unbekannt
+     */
+    public int getErrorIndex() {
+        return errorIndex;
+    }
+}
@@ -1,39 +1,252 @@
 package cuie.project.template_businesscontrol;
 
+import java.util.AbstractList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import javafx.application.Platform;
+import javafx.collections.ListChangeListener;
+import javafx.concurrent.Task;
 import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
 import javafx.scene.layout.VBox;
 
+import cuie.project.common.ResourceRegistry;
 
+/**
+ * Auswahl aus dem Katalog des BusinessControls.
+ *
+ * Die ListView ist virtualisiert, es werden also nur Zellen fuer die sichtbaren Zeilen erzeugt. Laden des
+ * Katalogs, Aufbau des {@link CatalogueIndex} und die Suche laufen in einem Hintergrund-Thread; der FX-Thread
+ * wird nie blockiert. Die Treffer werden portionenweise in die Liste uebernommen, veraltete Anfragen werden
+ * verworfen, sobald weiter getippt wird.
+ */
 class DropDownChooser extends VBox {
     private static final String STYLE_CSS = "dropDownChooser.css";
 
+    private static final double CELL_HEIGHT = 24;
+    private static final int    CHUNK_SIZE  = 500;
+
+    // ein Thread fuer alle Chooser: Aufbau und Anfragen werden in der Reihenfolge des Eintreffens abgearbeitet
+    private static final ExecutorService SEARCH_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalogue-search");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private final BusinessControl businessControl;
 
-    private Label tobeReplacedLabel;
+    private ListView<CatalogueEntry> listView;
+
+    // wird im FX-Thread ersetzt und im Hintergrund-Thread gelesen
+    private volatile CatalogueIndex index = CatalogueIndex.build(List.of());
+
+    // alle weiteren Felder werden nur im FX-Thread verwendet
+    private String               query;
+    private long                 generation;
+    private boolean              complete = true;
+    private boolean              installingCatalogue;
+    private Task<CatalogueIndex> runningBuild;
+    private Task<SearchResult>   runningQuery;
+
+    private Consumer<CatalogueEntry> onChosen = entry -> {};
 
     DropDownChooser(BusinessControl businessControl) {
         this.businessControl = businessControl;
         initializeSelf();
         initializeParts();
         layoutParts();
+        setupEventHandlers();
+        setupValueChangeListeners();
         setupBindings();
     }
 
     private void initializeSelf() {
         getStyleClass().add("drop-down-chooser");
 
-        String stylesheet = getClass().getResource(STYLE_CSS).toExternalForm();
-        getStylesheets().add(stylesheet);
+        ResourceRegistry.addStylesheets(this, DropDownChooser.class, STYLE_CSS);
     }
 
     private void initializeParts() {
-        tobeReplacedLabel = new Label("to be replaced");
+        listView = new ListView<>();
+        listView.getStyleClass().add("catalogue-list");
+        // feste Zellhoehe: die ListView muss keine Zellen vermessen, die nicht sichtbar sind
+        listView.setFixedCellSize(CELL_HEIGHT);
+        listView.setPlaceholder(new Label("Keine Treffer"));
     }
 
     private void layoutParts() {
-        getChildren().addAll(tobeReplacedLabel);
+        getChildren().addAll(listView);
+    }
+
+    private void setupEventHandlers() {
+        listView.setOnMouseClicked(event -> choose());
+        listView.setOnKeyPressed(event -> {
+            switch (event.getCode()) {
+                case ENTER:
+                    choose();
+                    event.consume();
+                    break;
+            }
+        });
+    }
+
+    private void setupValueChangeListeners() {
+        businessControl.getCatalogue().addListener((ListChangeListener<CatalogueEntry>) change -> {
+            if (!installingCatalogue) {
+                List<CatalogueEntry> snapshot = List.copyOf(businessControl.getCatalogue());
+                rebuildIndex(() -> snapshot, false);
+            }
+        });
+
+        businessControl.catalogueLoaderProperty().addListener((observable, oldLoader, newLoader) -> {
+            if (newLoader != null) {
+                rebuildIndex(newLoader, true);
+            }
+        });
+        if (businessControl.getCatalogueLoader() != null) {
+            rebuildIndex(businessControl.getCatalogueLoader(), true);
+        } else if (!businessControl.getCatalogue().isEmpty()) {
+            rebuildIndex(() -> List.copyOf(businessControl.getCatalogue()), false);
+        }
     }
 
     private void setupBindings() {
     }
+
+    /**
+     * Startet die Suche nach dem Suchbegriff im Hintergrund. Kehrt sofort zurueck.
+     *
+     * @param query Suchbegriff, leer oder null zeigt alle Eintraege
+     */
+    void filter(String query) {
+        this.query = query;
+
+        if (!complete) {
+            SearchMetrics.queryCancelled();
+        }
+        if (runningQuery != null) {
+            runningQuery.cancel();
+        }
+        SearchMetrics.queryStarted();
+
+        long started = System.nanoTime();
+        long current = ++generation;
+        complete = false;
+
+        Task<SearchResult> search = new Task<>() {
+            @Override
+            protected SearchResult call() {
+                CatalogueIndex searched = index;
+                return new SearchResult(searched, searched.search(query));
+            }
+        };
+        search.setOnSucceeded(event -> publish(current, search.getValue(), 0, started));
+        runningQuery = search;
+        SEARCH_EXECUTOR.execute(search);
+    }
+
+    void setOnChosen(Consumer<CatalogueEntry> onChosen) {
+        this.onChosen = onChosen;
+    }
+
+    private void rebuildIndex(Supplier<? extends List<CatalogueEntry>> source, boolean loaded) {
+        if (runningBuild != null) {
+            runningBuild.cancel();
+        }
+        Task<CatalogueIndex> build = new Task<>() {
+            @Override
+            protected CatalogueIndex call() {
+                return CatalogueIndex.build(source.get());
+            }
+        };
+        build.setOnSucceeded(event -> {
+            index = build.getValue();
+            if (loaded) {
+                installingCatalogue = true;
+                businessControl.getCatalogue().setAll(new Matches(index, index.search(null), 0, index.size()));
+                installingCatalogue = false;
+            }
+            if (isShowing()) {
+                filter(query);
+            }
+        });
+        runningBuild = build;
+        SEARCH_EXECUTOR.execute(build);
+    }
+
+    /**
+     * Uebernimmt die naechste Portion Treffer und plant die darauf folgende ein.
+     */
+    private void publish(long queryGeneration, SearchResult result, int from, long started) {
+        // veraltet: inzwischen wurde weiter getippt oder der Katalog hat sich geaendert
+        if (queryGeneration != generation || result.index != index) {
+            return;
+        }
+        int to = Math.min(from + CHUNK_SIZE, result.matches.length);
+        if (from == 0) {
+            listView.getItems().setAll(new Matches(result.index, result.matches, from, to));
+            SearchMetrics.firstResultShown(System.nanoTime() - started);
+        } else {
+            listView.getItems().addAll(new Matches(result.index, result.matches, from, to));
+        }
+
+        if (to < result.matches.length) {
+            Platform.runLater(() -> publish(queryGeneration, result, to, started));
+        } else {
+            complete = true;
+        }
+    }
+
+    private boolean isShowing() {
+        return getScene() != null && getScene().getWindow() != null && getScene().getWindow().isShowing();
+    }
+
+    private void choose() {
+        CatalogueEntry entry = listView.getSelectionModel().getSelectedItem();
+        if (entry != null) {
+            onChosen.accept(entry);
+        }
+    }
+
+    private static final class SearchResult {
+        private final CatalogueIndex index;
+        private final int[]          matches;
+
+        SearchResult(CatalogueIndex index, int[] matches) {
+            this.index   = index;
+            this.matches = matches;
+        }
+    }
+
+    /**
+     * Sicht auf einen Ausschnitt der Treffer einer Suche. setAll/addAll kopieren die Eintraege trotzdem in die
+     * Liste der ListView; gespart wird nur die Zwischenliste pro Portion.
+     */
+    private static final class Matches extends AbstractList<CatalogueEntry> {
+        private final CatalogueIndex index;
+        private final int[]          matches;
+        private final int            from;
+        private final int            to;
+
+        Matches(CatalogueIndex index, int[] matches, int from, int to) {
+            this.index   = index;
+            this.matches = matches;
+            this.from    = from;
+            this.to      = to;
+        }
+
+        @Override
+        public CatalogueEntry get(int i) {
+            return index.get(matches[from + i]);
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+    }
 }
@@ -0,0 +1,26 @@
+package cuie.project.template_businesscontrol;
+
+import cuie.project.common.FixedPointFormatter;
+
+/**
+ * Standard-Konvertierung des BusinessControls: Ganzzahlen mit Schweizer Tausender-Gruppierung.
+ */
+public class IntegerConverter implements ValueConverter {
+    private final IntegerParser       parser    = new IntegerParser();
+    private final FixedPointFormatter formatter = new FixedPointFormatter(BusinessControl.CH, 0, true, "");
+
+    @Override
+    public synchronized Conversion convert(String userInput) {
+        // der Parser haelt sein Resultat, deshalb synchronized
+        if (parser.parse(userInput)) {
+            return Conversion.valid(parser.getValue());
+        }
+        int errorIndex = parser.getErrorIndex();
+        return Conversion.invalid("Not an Integer (position " + (errorIndex + 1) + ")", errorIndex);
+    }
+
+    @Override
+    public String toString(int value) {
+        return formatter.format(value);
+    }
+}
@@ -0,0 +1,104 @@
+package cuie.project.template_businesscontrol;
+
+/**
+ * Prueft und konvertiert die Benutzereingabe in einem einzigen Durchgang, ohne Regex, ohne Exceptions und
+ * ohne Objekte zu erzeugen.
+ *
+ * Akzeptiert werden fuehrende und abschliessende Whitespaces, ein optionales Vorzeichen und die Schweizer
+ * Tausender-Gruppierung mit ' oder ’ zwischen zwei Ziffern, z.B. "-12'345". Ist die Eingabe ungueltig,
+ * liefert {@link #getErrorIndex()} die Position des ersten falschen Zeichens.
+ *
+ * Eine Instanz haelt das Resultat des letzten Aufrufs und ist deshalb nicht thread-safe.
+ */
+final class IntegerParser {
+    private static final char APOSTROPHE                  = '\'';
+    private static final char RIGHT_SINGLE_QUOTATION_MARK = '\u2019';
+
+    private int value;
+    private int errorIndex = -1;
+
+    /**
+     * @param input die Benutzereingabe, darf null sein
+     * @return true, falls input eine gueltige Ganzzahl im Wertebereich von int ist
+     */
+    boolean parse(CharSequence input) {
+        value      = 0;
+        errorIndex = -1;
+        if (input == null) {
+            return fail(0);
+        }
+
+        int length = input.length();
+        int end    = length;
+        while (end > 0 && Character.isWhitespace(input.charAt(end - 1))) {
+            end--;
+        }
+        int i = 0;
+        while (i < end && Character.isWhitespace(input.charAt(i))) {
+            i++;
+        }
+        if (i == end) {
+            return fail(i);
+        }
+
+        boolean negative = false;
+        char    first    = input.charAt(i);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            i++;
+        }
+
+        // negativ akkumuliert, damit Integer.MIN_VALUE ohne Ueberlauf dargestellt werden kann
+        int     limit         = negative ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+        int     multiplyLimit = limit / 10;
+        int     result        = 0;
+        int     digits        = 0;
+        boolean lastWasDigit  = false;
+
+        for (; i < end; i++) {
+            char c = input.charAt(i);
+            if (c >= '0' && c <= '9') {
+                int digit = c - '0';
+                if (result < multiplyLimit) {
+                    return fail(i);
+                }
+                result *= 10;
+                if (result < limit + digit) {
+                    return fail(i);
+                }
+                result -= digit;
+                digits++;
+                lastWasDigit = true;
+            } else if ((c == APOSTROPHE || c == RIGHT_SINGLE_QUOTATION_MARK) && lastWasDigit && i + 1 < end) {
+                lastWasDigit = false;
+            } else {
+                return fail(i);
+            }
+        }
+        if (digits == 0 || !lastWasDigit) {
+            return fail(end);
+        }
+
+        value = negative ? result : -result;
+        return true;
+    }
+
+    /**
+     * @return der Wert der letzten gueltigen Eingabe, 0 falls die Eingabe ungueltig war
+     */
+    int getValue() {
+        return value;
+    }
+
+    /**
+     * @return Position des ersten ungueltigen Zeichens der letzten Eingabe, -1 falls sie gueltig war
+     */
+    int getErrorIndex() {
+        return errorIndex;
+    }
+
+    private boolean fail(int index) {
+        errorIndex = index;
+        return false;
+    }
+}
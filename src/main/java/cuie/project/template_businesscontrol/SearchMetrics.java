@@ -0,0 +1,67 @@
+package cuie.project.template_businesscontrol;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Messwerte der Katalogsuche aller DropDownChooser.
+ *
+ * Gemessen wird die Zeit vom Tastendruck bis die ersten Treffer in der Liste stehen und die Anzahl Anfragen,
+ * die durch eine neuere Eingabe abgebrochen wurden, bevor alle ihre Treffer angezeigt waren.
+ */
+public final class SearchMetrics {
+    private static final LongAdder  QUERIES            = new LongAdder();
+    private static final LongAdder  CANCELLED_QUERIES  = new LongAdder();
+    private static final LongAdder  FIRST_RESULT_NANOS = new LongAdder();
+    private static final LongAdder  FIRST_RESULTS      = new LongAdder();
+    private static final AtomicLong LAST_FIRST_RESULT  = new AtomicLong();
+    private static final AtomicLong MAX_FIRST_RESULT   = new AtomicLong();
+
+    private SearchMetrics() {
+    }
+
+    static void queryStarted() {
+        QUERIES.increment();
+    }
+
+    static void queryCancelled() {
+        CANCELLED_QUERIES.increment();
+    }
+
+    static void firstResultShown(long latencyNanos) {
+        FIRST_RESULT_NANOS.add(latencyNanos);
+        FIRST_RESULTS.increment();
+        LAST_FIRST_RESULT.set(latencyNanos);
+        MAX_FIRST_RESULT.accumulateAndGet(latencyNanos, Math::max);
+    }
+
+    public static long getQueries() {
+        return QUERIES.sum();
+    }
+
+    public static long getCancelledQueries() {
+        return CANCELLED_QUERIES.sum();
+    }
+
+    public static long getLastFirstResultLatencyNanos() {
+        return LAST_FIRST_RESULT.get();
+    }
+
+    public static long getMaxFirstResultLatencyNanos() {
+        return MAX_FIRST_RESULT.get();
+    }
+
+    public static long getAverageFirstResultLatencyNanos() {
+        long count = FIRST_RESULTS.sum();
+        return count == 0 ? 0 : FIRST_RESULT_NANOS.sum() / count;
+    }
+
+    public static void reset() {
+        QUERIES.reset();
+        CANCELLED_QUERIES.reset();
+        FIRST_RESULT_NANOS.reset();
+        FIRST_RESULTS.reset();
+        LAST_FIRST_RESULT.set(0);
+        MAX_FIRST_RESULT.set(0);
+    }
+}
@@ -0,0 +1,25 @@
+package cuie.project.template_businesscontrol;
+
+/**
+ * Konvertiert zwischen der Benutzereingabe und dem value des BusinessControls.
+ *
+ * Ist beim BusinessControl asyncValidation eingeschaltet, wird {@link #convert(String)} in einem
+ * Hintergrund-Thread aufgerufen und muss dann thread-safe sein. {@link #toString(int)} wird immer
+ * im FX-Thread aufgerufen.
+ */
+public interface ValueConverter {
+
+    /**
+     * Prueft die Benutzereingabe und konvertiert sie. Darf keine Exception werfen.
+     *
+     * @param userInput die Benutzereingabe, darf null sein
+     * @return das Resultat, bei ungueltiger Eingabe mit Fehlermeldung
+     */
+    Conversion convert(String userInput);
+
+    /**
+     * @param value der aktuelle value
+     * @return der Text, der dem Benutzer angezeigt wird
+     */
+    String toString(int value);
+}
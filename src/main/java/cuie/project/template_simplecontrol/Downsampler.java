@@ -0,0 +1,116 @@
+package cuie.project.template_simplecontrol;
+
+/**
+ * Verdichtet Messwerte inkrementell auf eine feste Anzahl Spalten, typischerweise eine pro Pixel.
+ *
+ * Jede Spalte deckt windowMillis / columns Millisekunden ab und haelt Minimum, Maximum und Summe ihrer Werte.
+ * Ein neuer Messwert kostet O(1): er wird in seine Spalte eingerechnet, und Spalten, die aus dem Zeitfenster
+ * fallen, werden wiederverwendet. Messwerte, die aelter als das Zeitfenster sind, werden ignoriert.
+ */
+public final class Downsampler {
+    private final int  columns;
+    private final long windowMillis;
+    private final long bucketMillis;
+
+    private final double[] min;
+    private final double[] max;
+    private final double[] sum;
+    private final int[]    count;
+
+    // absolute Nummer der neuesten Spalte: time / bucketMillis
+    private long newestBucket = Long.MIN_VALUE;
+
+    Downsampler(int columns, long windowMillis) {
+        if (columns <= 0 || windowMillis <= 0) {
+            throw new IllegalArgumentException("columns and windowMillis must be positive");
+        }
+        this.columns      = columns;
+        this.windowMillis = windowMillis;
+        this.bucketMillis = Math.max(1, (windowMillis + columns - 1) / columns);
+        this.min          = new double[columns];
+        this.max          = new double[columns];
+        this.sum          = new double[columns];
+        this.count        = new int[columns];
+    }
+
+    void add(long time, double value) {
+        long bucket = Math.floorDiv(time, bucketMillis);
+        advance(bucket);
+        if (bucket <= newestBucket - columns) {
+            return;
+        }
+
+        int slot = slot(bucket);
+        if (count[slot] == 0) {
+            min[slot] = value;
+            max[slot] = value;
+            sum[slot] = value;
+        } else {
+            min[slot] = Math.min(min[slot], value);
+            max[slot] = Math.max(max[slot], value);
+            sum[slot] += value;
+        }
+        count[slot]++;
+    }
+
+    /**
+     * Schiebt das Zeitfenster so weit, dass es bei time endet; Spalten, die dabei herausfallen, werden geleert.
+     * Liegt time vor dem neuesten Messwert, passiert nichts.
+     */
+    void advanceTo(long time) {
+        advance(Math.floorDiv(time, bucketMillis));
+    }
+
+    private void advance(long bucket) {
+        if (newestBucket == Long.MIN_VALUE) {
+            newestBucket = bucket;
+        } else if (bucket > newestBucket) {
+            // uebersprungene Spalten leeren, hoechstens einmal rundherum
+            long steps = Math.min(bucket - newestBucket, columns);
+            for (long step = 1; step <= steps; step++) {
+                count[slot(newestBucket + step)] = 0;
+            }
+            newestBucket = bucket;
+        }
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+
+    /**
+     * @param column 0 ist die aelteste Spalte, getColumns() - 1 die neueste
+     * @return true, falls in diese Spalte kein Messwert faellt
+     */
+    public boolean isEmpty(int column) {
+        return newestBucket == Long.MIN_VALUE || count[columnSlot(column)] == 0;
+    }
+
+    public double getMin(int column) {
+        return min[columnSlot(column)];
+    }
+
+    public double getMax(int column) {
+        return max[columnSlot(column)];
+    }
+
+    public double getAverage(int column) {
+        int slot = columnSlot(column);
+        return sum[slot] / count[slot];
+    }
+
+    private int columnSlot(int column) {
+        if (column < 0 || column >= columns) {
+            throw new IndexOutOfBoundsException(column);
+        }
+        return slot(newestBucket - columns + 1 + column);
+    }
+
+    private int slot(long bucket) {
+        return (int) Math.floorMod(bucket, (long) columns);
+    }
+}
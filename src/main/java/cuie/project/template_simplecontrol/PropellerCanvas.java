@@ -0,0 +1,52 @@
+package cuie.project.template_simplecontrol;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.transform.Rotate;
+
+/**
+ * Der Propeller des Tachometers im RenderMode CANVAS, als eigene kleine Canvas unter der {@link TachometerCanvas}.
+ *
+ * Gezeichnet wird nur, wenn sich die Schalterstellung (und damit die Farbe) aendert. Gedreht wird pro Frame
+ * ueber ein Rotate, wie beim Polygon im RenderMode NODES.
+ *
+ * @author Cristine Paduga / Chi Cuong Nguyen
+ */
+class PropellerCanvas extends Canvas {
+    // Position der Canvas auf der Zeichenflaeche des Tachometers
+    private static final double LEFT = 40;
+    private static final double TOP  = 20;
+
+    private static final double[] PROPELLER_X = {110.0,  90.0,   0.1, 110.0, 219.9, 130.0};
+    private static final double[] PROPELLER_Y = {  0.0, 109.9, 185.0, 129.9, 185.0, 109.9};
+
+    private final Rotate rotation = new Rotate(0, PROPELLER_X[3], PROPELLER_Y[3]);
+
+    PropellerCanvas() {
+        super(220, 185);
+        relocate(LEFT, TOP);
+        getTransforms().add(rotation);
+        setMouseTransparent(true);
+    }
+
+    /**
+     * Zeichnet den Propeller in der Farbe zur angegebenen Schalterstellung.
+     *
+     * @param switchPosition Position des Schalters zwischen 0 (aus) und 1 (ein)
+     */
+    void paint(double switchPosition) {
+        GraphicsContext gc = getGraphicsContext2D();
+        gc.clearRect(0, 0, getWidth(), getHeight());
+        gc.setFill(Tachometer.PROPELLER_OFF.interpolate(Tachometer.PROPELLER_ON, switchPosition));
+        gc.fillPolygon(PROPELLER_X, PROPELLER_Y, PROPELLER_X.length);
+    }
+
+    /**
+     * Dreht den Propeller um seine Mitte, ohne neu zu zeichnen.
+     *
+     * @param angle Drehung in Grad
+     */
+    void setAngle(double angle) {
+        rotation.setAngle(angle);
+    }
+}
@@ -0,0 +1,78 @@
+package cuie.project.template_simplecontrol;
+
+import java.util.Arrays;
+
+/**
+ * Gemeinsame Uhr fuer die Propeller aller Tachometer.
+ *
+ * Drehgeschwindigkeit und aktueller Winkel jedes Propellers stehen in primitiven Arrays, adressiert ueber einen
+ * Slot pro Tachometer. {@link #advance(double)} rechnet pro Frame alle Winkel in einer einzigen Schleife weiter;
+ * welche Tachometer ihren Propeller tatsaechlich drehen, entscheidet der {@link PulseScheduler}.
+ *
+ * Wird nur im FX-Thread verwendet.
+ */
+final class PropellerClock {
+    private double[] speeds = new double[64];
+    private double[] angles = new double[64];
+    private int[]    free   = new int[16];
+    private int      freeCount;
+    private int      size;
+
+    /**
+     * @return ein freier Slot, Geschwindigkeit und Winkel sind 0
+     */
+    int allocate() {
+        if (freeCount > 0) {
+            return free[--freeCount];
+        }
+        if (size == speeds.length) {
+            speeds = Arrays.copyOf(speeds, size * 2);
+            angles = Arrays.copyOf(angles, size * 2);
+        }
+        return size++;
+    }
+
+    void release(int slot) {
+        speeds[slot] = 0;
+        angles[slot] = 0;
+        if (freeCount == free.length) {
+            free = Arrays.copyOf(free, freeCount * 2);
+        }
+        free[freeCount++] = slot;
+    }
+
+    /**
+     * @param degreesPerSecond Drehgeschwindigkeit, 0 haelt den Propeller an
+     */
+    void setSpeed(int slot, double degreesPerSecond) {
+        speeds[slot] = degreesPerSecond;
+    }
+
+    double getSpeed(int slot) {
+        return speeds[slot];
+    }
+
+    double getAngle(int slot) {
+        return angles[slot];
+    }
+
+    /**
+     * Rechnet alle Winkel um die seit dem letzten Frame vergangene Zeit weiter.
+     */
+    void advance(double seconds) {
+        for (int i = 0; i < size; i++) {
+            double speed = speeds[i];
+            if (speed != 0) {
+                double angle = angles[i] + speed * seconds;
+                angles[i] = angle >= 360 ? angle % 360 : angle;
+            }
+        }
+    }
+
+    /**
+     * @return hoechster vergebener Slot + 1
+     */
+    int size() {
+        return size;
+    }
+}
@@ -0,0 +1,383 @@
+package cuie.project.template_simplecontrol;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import javafx.animation.AnimationTimer;
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+
+/**
+ * Ein einziger AnimationTimer fuer alle Tachometer und {@link Sparkline}s einer Applikation.
+ *
+ * Pro Frame werden die via submitValue gelieferten Messwerte aller angemeldeten Tachometer uebernommen, auch
+ * der nicht sichtbaren, damit gebundene Models, Historie und Aufzeichnung aktuell bleiben.
+ *
+ * Die Tachometer werden nach ihrem Pulse gruppiert. Pro Frame wird fuer jede Gruppe einmal geprueft, ob ihr
+ * Pulse abgelaufen ist; nur dann wird performPeriodicTask ihrer Mitglieder aufgerufen. Ausgeschaltete
+ * Tachometer, unsichtbare und solche, die ausserhalb des sichtbaren Bereichs liegen (z.B. in einer ScrollPane
+ * weggescrollt), werden dabei uebersprungen. Die Sichtbarkeit wird nicht in jedem Frame, sondern alle
+ * {@link #VISIBILITY_CHECK_PERIOD} Nanosekunden neu bestimmt.
+ *
+ * Ausserdem treibt der Scheduler die gemeinsame {@link PropellerClock}: pro Frame werden alle Propeller-Winkel
+ * weitergerechnet, gedreht werden nur die Propeller der sichtbaren Tachometer. Den angemeldeten Sparklines wird
+ * pro Frame die Zeit gemeldet, damit ihr Zeitfenster auch ohne neue Messwerte weiterwandert.
+ *
+ * Wird ausschliesslich im FX-Thread verwendet; die Messwerte duerfen aus jedem Thread gelesen werden.
+ */
+public final class PulseScheduler {
+    static final long VISIBILITY_CHECK_PERIOD = 100_000_000L;
+
+    private static final Map<Long, Bucket>       BUCKETS    = new LinkedHashMap<>();
+    private static final Map<Tachometer, Member> MEMBERS    = new IdentityHashMap<>();
+    private static final Set<Sparkline>          SPARKLINES = new LinkedHashSet<>();
+
+    private static final LongAdder  FRAMES          = new LongAdder();
+    private static final LongAdder  FRAME_NANOS     = new LongAdder();
+    private static final LongAdder  PERIODIC_TASKS  = new LongAdder();
+    private static final LongAdder  SKIPPED         = new LongAdder();
+    private static final AtomicLong LAST_FRAME      = new AtomicLong();
+    private static final AtomicLong MAX_FRAME       = new AtomicLong();
+    private static final LongAdder  CLOCK_NANOS     = new LongAdder();
+
+    private static final PropellerClock CLOCK = new PropellerClock();
+
+    // Member pro Slot der PropellerClock, null fuer freie Slots
+    private static Member[] bySlot = new Member[64];
+    private static long     lastFrame;
+
+    // Kopie von BUCKETS.values(), damit waehrend eines Frames an- und abgemeldet werden darf
+    private static Bucket[]    buckets    = new Bucket[0];
+    // Kopie von SPARKLINES, aus demselben Grund
+    private static Sparkline[] sparklines = new Sparkline[0];
+
+    private static long lastVisibilityCheck;
+
+    private static final AnimationTimer TIMER = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            runFrame(now);
+        }
+    };
+
+    private PulseScheduler() {
+    }
+
+    /**
+     * Nimmt den Tachometer in die Gruppe seines aktuellen Pulse auf. Ist er schon registriert und hat sich
+     * der Pulse geaendert, wechselt er die Gruppe.
+     */
+    static void register(Tachometer tachometer) {
+        long   period = Math.max(0, (long) (tachometer.getPulse().toMillis() * 1_000_000L));
+        Member member = MEMBERS.get(tachometer);
+        if (member != null) {
+            if (member.bucket.period == period) {
+                return;
+            }
+            remove(member);
+        } else {
+            member = new Member(tachometer, CLOCK.allocate());
+            member.visible = isVisible(tachometer);
+            MEMBERS.put(tachometer, member);
+            if (member.slot >= bySlot.length) {
+                bySlot = Arrays.copyOf(bySlot, bySlot.length * 2);
+            }
+            bySlot[member.slot] = member;
+            CLOCK.setSpeed(member.slot, tachometer.propellerSpeed());
+        }
+        Bucket bucket = BUCKETS.get(period);
+        if (bucket == null) {
+            bucket = new Bucket(period);
+            BUCKETS.put(period, bucket);
+            buckets = BUCKETS.values().toArray(new Bucket[0]);
+        }
+        member.bucket = bucket;
+        bucket.add(member);
+
+        TIMER.start();
+    }
+
+    static void unregister(Tachometer tachometer) {
+        Member member = MEMBERS.remove(tachometer);
+        if (member == null) {
+            return;
+        }
+        remove(member);
+        member.bucket = null;
+        bySlot[member.slot] = null;
+        CLOCK.release(member.slot);
+        if (MEMBERS.isEmpty()) {
+            lastFrame = 0;
+            stopIfIdle();
+        }
+    }
+
+    /**
+     * Meldet ab jetzt jeden Frame an die Sparkline, bis sie wieder abgemeldet wird.
+     */
+    static void register(Sparkline sparkline) {
+        if (SPARKLINES.add(sparkline)) {
+            sparklines = SPARKLINES.toArray(new Sparkline[0]);
+        }
+        TIMER.start();
+    }
+
+    static void unregister(Sparkline sparkline) {
+        if (SPARKLINES.remove(sparkline)) {
+            sparklines = SPARKLINES.toArray(new Sparkline[0]);
+            stopIfIdle();
+        }
+    }
+
+    private static void stopIfIdle() {
+        if (MEMBERS.isEmpty() && SPARKLINES.isEmpty()) {
+            TIMER.stop();
+        }
+    }
+
+    /**
+     * Uebernimmt die aktuelle Drehgeschwindigkeit des Propellers, z.B. nachdem sich value oder on geaendert hat.
+     */
+    static void propellerSpeedChanged(Tachometer tachometer) {
+        Member member = MEMBERS.get(tachometer);
+        if (member != null) {
+            CLOCK.setSpeed(member.slot, tachometer.propellerSpeed());
+        }
+    }
+
+    private static void remove(Member member) {
+        Bucket bucket = member.bucket;
+        bucket.remove(member);
+        if (bucket.isEmpty()) {
+            BUCKETS.remove(bucket.period);
+            buckets = BUCKETS.values().toArray(new Bucket[0]);
+        }
+    }
+
+    static boolean isRegistered(Tachometer tachometer) {
+        return MEMBERS.containsKey(tachometer);
+    }
+
+    static boolean isRegistered(Sparkline sparkline) {
+        return SPARKLINES.contains(sparkline);
+    }
+
+    private static void runFrame(long now) {
+        long start = System.nanoTime();
+
+        if (now - lastVisibilityCheck >= VISIBILITY_CHECK_PERIOD) {
+            for (Member member : MEMBERS.values()) {
+                member.visible = isVisible(member.tachometer);
+            }
+            lastVisibilityCheck = now;
+        }
+
+        long tasks   = 0;
+        long skipped = 0;
+        for (Bucket bucket : buckets) {
+            boolean due = now > bucket.lastRun + bucket.period;
+            if (due) {
+                bucket.lastRun = now;
+            }
+            // Kopie der Mitglieder: publishPendingSample und performPeriodicTask duerfen Tachometer an- und
+            // abmelden, z.B. ein Listener auf value, der einen Tachometer aus der Scene entfernt
+            for (Member member : bucket.snapshot()) {
+                if (member.bucket != bucket) {
+                    // in diesem Frame abgemeldet oder in eine andere Gruppe gewechselt
+                    continue;
+                }
+                // Zustand immer, gezeichnet wird nur, was zu sehen ist
+                member.tachometer.publishPendingSample();
+                if (!member.visible) {
+                    skipped++;
+                    continue;
+                }
+                if (due) {
+                    if (member.tachometer.isOn()) {
+                        member.tachometer.performPeriodicTask();
+                        tasks++;
+                    } else {
+                        skipped++;
+                    }
+                }
+            }
+        }
+
+        long clockStart = System.nanoTime();
+        rotatePropellers(now);
+        CLOCK_NANOS.add(System.nanoTime() - clockStart);
+
+        for (Sparkline sparkline : sparklines) {
+            sparkline.advance();
+        }
+
+        long cost = System.nanoTime() - start;
+        FRAMES.increment();
+        FRAME_NANOS.add(cost);
+        PERIODIC_TASKS.add(tasks);
+        SKIPPED.add(skipped);
+        LAST_FRAME.set(cost);
+        MAX_FRAME.accumulateAndGet(cost, Math::max);
+    }
+
+    private static void rotatePropellers(long now) {
+        double seconds = lastFrame == 0 ? 0 : (now - lastFrame) / 1_000_000_000.0;
+        lastFrame = now;
+        CLOCK.advance(seconds);
+
+        for (int slot = 0; slot < CLOCK.size(); slot++) {
+            Member member = bySlot[slot];
+            if (member != null && member.visible && CLOCK.getSpeed(slot) != 0) {
+                member.tachometer.rotatePropeller(CLOCK.getAngle(slot));
+            }
+        }
+    }
+
+    /**
+     * Prueft, ob der Tachometer tatsaechlich zu sehen ist: er und alle seine Parents sind visible, das Window
+     * wird angezeigt und seine Bounds schneiden den Clip jedes Parents sowie die Scene.
+     */
+    static boolean isVisible(Tachometer tachometer) {
+        Scene scene = tachometer.getScene();
+        if (scene == null || scene.getWindow() == null || !scene.getWindow().isShowing()) {
+            return false;
+        }
+
+        Bounds bounds = tachometer.localToScene(tachometer.getLayoutBounds());
+        if (bounds.getMaxX() < 0 || bounds.getMaxY() < 0 || bounds.getMinX() > scene.getWidth() || bounds.getMinY() > scene.getHeight()) {
+            return false;
+        }
+
+        for (Node node = tachometer; node != null; node = node.getParent()) {
+            if (!node.isVisible()) {
+                return false;
+            }
+            Node clip = node.getClip();
+            if (clip != null && !node.localToScene(clip.getBoundsInParent()).intersects(bounds)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return Anzahl der Frames, die der Scheduler bearbeitet hat
+     */
+    public static long getFrames() {
+        return FRAMES.sum();
+    }
+
+    /**
+     * @return Dauer des letzten Frames des Schedulers in Nanosekunden, inklusive aller performPeriodicTask-Aufrufe
+     */
+    public static long getLastFrameNanos() {
+        return LAST_FRAME.get();
+    }
+
+    public static long getMaxFrameNanos() {
+        return MAX_FRAME.get();
+    }
+
+    public static long getAverageFrameNanos() {
+        long frames = FRAMES.sum();
+        return frames == 0 ? 0 : FRAME_NANOS.sum() / frames;
+    }
+
+    /**
+     * @return durchschnittlicher Anteil der Propeller-Uhr an einem Frame in Nanosekunden
+     */
+    public static long getAverageClockNanos() {
+        long frames = FRAMES.sum();
+        return frames == 0 ? 0 : CLOCK_NANOS.sum() / frames;
+    }
+
+    /**
+     * @return Anzahl der ausgefuehrten performPeriodicTask-Aufrufe
+     */
+    public static long getPeriodicTasks() {
+        return PERIODIC_TASKS.sum();
+    }
+
+    /**
+     * @return Anzahl der Tachometer-Frames, die uebersprungen wurden, weil der Tachometer aus oder nicht zu sehen war
+     */
+    public static long getSkipped() {
+        return SKIPPED.sum();
+    }
+
+    /**
+     * @return Anzahl der zur Zeit angemeldeten Tachometer; nur im FX-Thread aussagekraeftig
+     */
+    public static int getRegistered() {
+        return MEMBERS.size();
+    }
+
+    public static void reset() {
+        FRAMES.reset();
+        FRAME_NANOS.reset();
+        CLOCK_NANOS.reset();
+        PERIODIC_TASKS.reset();
+        SKIPPED.reset();
+        LAST_FRAME.set(0);
+        MAX_FRAME.set(0);
+    }
+
+    private static final class Bucket {
+        private final long         period;
+        private final List<Member> members = new ArrayList<>();
+
+        // Kopie von members, wird erst beim naechsten Frame nach einer Aenderung neu erstellt
+        private Member[] snapshot = new Member[0];
+        private boolean  changed;
+
+        private long lastRun;
+
+        Bucket(long period) {
+            this.period = period;
+        }
+
+        void add(Member member) {
+            members.add(member);
+            changed = true;
+        }
+
+        void remove(Member member) {
+            members.remove(member);
+            changed = true;
+        }
+
+        boolean isEmpty() {
+            return members.isEmpty();
+        }
+
+        Member[] snapshot() {
+            if (changed) {
+                snapshot = members.toArray(new Member[0]);
+                changed  = false;
+            }
+            return snapshot;
+        }
+    }
+
+    private static final class Member {
+        private final Tachometer tachometer;
+        private final int        slot;
+
+        private Bucket  bucket;
+        private boolean visible;
+
+        Member(Tachometer tachometer, int slot) {
+            this.tachometer = tachometer;
+            this.slot       = slot;
+        }
+    }
+}
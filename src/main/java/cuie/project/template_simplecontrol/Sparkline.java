@@ -0,0 +1,174 @@
+package cuie.project.template_simplecontrol;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.util.Duration;
+
+/**
+ * Verlauf der letzten Minuten eines Tachometers, gezeichnet aus dessen {@link ValueHistory}.
+ *
+ * Pro Pixel-Spalte wird der Bereich zwischen Minimum und Maximum und der Durchschnitt gezeichnet. Das
+ * Zeitfenster endet jetzt, nicht beim letzten Messwert: meldet eine Turbine nichts mehr, wandert ihr Verlauf
+ * nach links aus dem Bild. Neue Werte und jede neue Spalte markieren die Sparkline nur als veraendert;
+ * gezeichnet wird hoechstens einmal pro Layout-Pass.
+ *
+ * Solange die Sparkline in einer Scene haengt, meldet ihr der {@link PulseScheduler} jeden Frame, und sie hoert
+ * auf den value des Tachometers. Ausserhalb einer Scene haelt der Tachometer keine Referenz auf sie.
+ *
+ * Der Tachometer muss mit Historie erzeugt worden sein, siehe {@link Tachometer#Tachometer(Tachometer.RenderMode, int)}.
+ */
+public class Sparkline extends Region {
+    private static final Color RANGE_COLOR   = Color.rgb(162, 197, 255);
+    private static final Color AVERAGE_COLOR = Color.rgb( 62, 130, 247);
+
+    private final Tachometer tachometer;
+
+    private final Canvas canvas = new Canvas();
+
+    private final ObjectProperty<Duration> window = new SimpleObjectProperty<>(Duration.minutes(10)) {
+        @Override
+        protected void invalidated() {
+            markDirty();
+        }
+    };
+
+    private final InvalidationListener valueListener = observable -> markDirty();
+
+    private boolean dirty = true;
+    private long    drawnAt;
+
+    public Sparkline(Tachometer tachometer) {
+        this.tachometer = tachometer;
+        initializeSelf();
+        layoutParts();
+        setupValueChangeListeners();
+    }
+
+    private void initializeSelf() {
+        getStyleClass().add("sparkline");
+        setPrefSize(120, 30);
+    }
+
+    private void layoutParts() {
+        getChildren().add(canvas);
+    }
+
+    private void setupValueChangeListeners() {
+        sceneProperty().addListener((observable, oldScene, newScene) -> {
+            if (newScene != null && oldScene == null) {
+                tachometer.valueProperty().addListener(valueListener);
+                PulseScheduler.register(this);
+                // value kann sich geaendert haben, waehrend die Sparkline nicht in einer Scene war
+                markDirty();
+            } else if (newScene == null) {
+                tachometer.valueProperty().removeListener(valueListener);
+                PulseScheduler.unregister(this);
+            }
+        });
+    }
+
+    /**
+     * Wird vom {@link PulseScheduler} pro Frame aufgerufen. Schiebt das Zeitfenster weiter, sobald eine Spalte
+     * vergangen ist, auch wenn keine Werte mehr kommen.
+     */
+    void advance() {
+        double columnMillis = getWindow().toMillis() / Math.max(1, canvas.getWidth());
+        if (!dirty && System.currentTimeMillis() - drawnAt >= columnMillis) {
+            markDirty();
+        }
+    }
+
+    private void markDirty() {
+        dirty = true;
+        requestLayout();
+    }
+
+    @Override
+    protected void layoutChildren() {
+        double width  = Math.floor(getWidth());
+        double height = Math.floor(getHeight());
+        if (canvas.getWidth() != width || canvas.getHeight() != height) {
+            canvas.setWidth(width);
+            canvas.setHeight(height);
+            dirty = true;
+        }
+        if (dirty) {
+            dirty = false;
+            draw(width, height);
+        }
+    }
+
+    private void draw(double width, double height) {
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.clearRect(0, 0, width, height);
+        drawnAt = System.currentTimeMillis();
+
+        ValueHistory history = tachometer.getHistory();
+        // die Messwerte kommen aus anderen Threads
+        synchronized (history) {
+            if (width >= 1 && height >= 1 && history.size() > 0) {
+                draw(gc, history.downsample((int) width, (long) getWindow().toMillis(), drawnAt), height);
+            }
+        }
+    }
+
+    private void draw(GraphicsContext gc, Downsampler columns, double height) {
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int x = 0; x < columns.getColumns(); x++) {
+            if (!columns.isEmpty(x)) {
+                min = Math.min(min, columns.getMin(x));
+                max = Math.max(max, columns.getMax(x));
+            }
+        }
+        if (min > max) {
+            return;
+        }
+        double scale = max > min ? (height - 1) / (max - min) : 0;
+
+        gc.setLineWidth(1);
+        gc.setStroke(RANGE_COLOR);
+        for (int x = 0; x < columns.getColumns(); x++) {
+            if (!columns.isEmpty(x)) {
+                double top    = height - 0.5 - (columns.getMax(x) - min) * scale;
+                double bottom = height - 0.5 - (columns.getMin(x) - min) * scale;
+                gc.strokeLine(x + 0.5, top, x + 0.5, bottom);
+            }
+        }
+
+        gc.setStroke(AVERAGE_COLOR);
+        gc.beginPath();
+        boolean drawing = false;
+        for (int x = 0; x < columns.getColumns(); x++) {
+            if (columns.isEmpty(x)) {
+                drawing = false;
+                continue;
+            }
+            double y = height - 0.5 - (columns.getAverage(x) - min) * scale;
+            if (drawing) {
+                gc.lineTo(x + 0.5, y);
+            } else {
+                gc.moveTo(x + 0.5, y);
+                drawing = true;
+            }
+        }
+        gc.stroke();
+    }
+
+    public Duration getWindow() {
+        return window.get();
+    }
+
+    public ObjectProperty<Duration> windowProperty() {
+        return window;
+    }
+
+    public void setWindow(Duration window) {
+        this.window.set(window);
+    }
+}
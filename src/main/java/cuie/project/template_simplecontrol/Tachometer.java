@@ -3,12 +3,15 @@ package cuie.project.template_simplecontrol;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 
 import eu.hansolo.medusa.GaugeBuilder;
 
 
 import javafx.animation.*;
+import javafx.application.Platform;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.ObjectProperty;
@@ -25,8 +28,9 @@ import javafx.geometry.Insets;
 import javafx.geometry.Point2D;
 import javafx.geometry.Pos;
 import javafx.geometry.VPos;
+import javafx.scene.CacheHint;
 import javafx.scene.Group;
-import javafx.scene.control.Button;
+import javafx.scene.Node;
 import javafx.scene.effect.BlurType;
 import javafx.scene.effect.DropShadow;
 import javafx.scene.layout.BorderPane;
@@ -34,13 +38,17 @@ import javafx.scene.layout.Pane;
 import javafx.scene.layout.Region;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.*;
-import javafx.scene.text.Font;
 import javafx.scene.text.Text;
+import javafx.scene.transform.Rotate;
 import javafx.scene.text.TextAlignment;
 import javafx.scene.text.TextBoundsType;
 import javafx.util.Duration;
 import eu.hansolo.medusa.Gauge;
 
+import cuie.project.common.ControlMetrics;
+import cuie.project.common.FixedPointFormatter;
+import cuie.project.common.ResourceRegistry;
+
 
 /**
  *
@@ -53,13 +61,25 @@ import eu.hansolo.medusa.Gauge;
 
 public class Tachometer extends Region {
 
+    /**
+     * Legt fest, wie der Tachometer gezeichnet wird.
+     */
+    public enum RenderMode {
+        /** Medusa-Gauge und einzelne Shapes im Scene-Graph */
+        NODES,
+        /** Skala und Schalter auf einer Canvas, Propeller auf einer eigenen kleinen Canvas, deutlich weniger Nodes pro Instanz */
+        CANVAS
+    }
+
     // wird gebraucht fuer StyleableProperties
-    private static final Color THUMB_ON  = Color.rgb( 62, 130, 247);
-    private static final Color THUMB_OFF = Color.rgb(250, 250, 250);
-    private static final Color FRAME_ON  = Color.rgb(162, 197, 255);
-    private static final Color FRAME_OFF = Color.rgb(153, 153, 153);
-    private static final Color PROPELLER_ON = Color.rgb(60, 152, 172);
-    private static final Color PROPELLER_OFF = Color.rgb(183, 193, 197);
+    static final Color THUMB_ON      = Color.rgb( 62, 130, 247);
+    static final Color THUMB_OFF     = Color.rgb(250, 250, 250);
+    static final Color FRAME_ON      = Color.rgb(162, 197, 255);
+    static final Color FRAME_OFF     = Color.rgb(153, 153, 153);
+    static final Color PROPELLER_ON  = Color.rgb(60, 152, 172);
+    static final Color PROPELLER_OFF = Color.rgb(183, 193, 197);
+
+    private static final String STYLESHEET = "style.css";
 
     private static final StyleablePropertyFactory<Tachometer> FACTORY = new StyleablePropertyFactory<>(Region.getClassCssMetaData());
 
@@ -69,8 +89,20 @@ public class Tachometer extends Region {
         return FACTORY.getCssMetaData();
     }
 
+    /**
+     * style.css ist das User-Agent-Stylesheet: per Code gesetzte Werte (z.B. {@link #setBaseColor(Color)} oder die
+     * Fuellfarben von Thumb und Frame) haben Vorrang davor und bleiben bei jedem CSS-Pass erhalten. Stylesheets der
+     * Applikation koennen die Werte weiterhin uebersteuern.
+     */
+    @Override
+    public String getUserAgentStylesheet() {
+        return ResourceRegistry.stylesheet(Tachometer.class, STYLESHEET);
+    }
+
     private static final Locale CH = new Locale("de", "CH");
 
+    private final FixedPointFormatter displayFormatter = new FixedPointFormatter(CH, 2, false, " kW");
+
     private static final double ARTBOARD_WIDTH  = 300;  // ToDo: Breite der "Zeichnung" aus dem Grafik-Tool übernehmen
     private static final double ARTBOARD_HEIGHT = 200;  // ToDo: Anpassen an die Breite der Zeichnung
 
@@ -81,14 +113,35 @@ public class Tachometer extends Region {
 
     private static final double MAXIMUM_WIDTH = 800;    //
 
+    // die Skalierung wird auf Vielfache davon abgerundet, damit gecachte Bitmaps nicht bei jedem Pixel neu entstehen
+    private static final double SCALE_STEP = 1.0 / 16;
+
+    // empfohlene Groesse der Historie: 10 Minuten bei 10 Messwerten pro Sekunde, belegt 96 KB pro Tachometer,
+    // sobald der erste Wert kommt
+    public static final int DEFAULT_HISTORY_CAPACITY = 6000;
+
+    // Drehgeschwindigkeit des Propellers beim Maximalwert: eine Umdrehung pro Sekunde
+    private static final double MAX_PROPELLER_SPEED = 360;
+
+    private static final double GAUGE_MIN_VALUE = 0;
+    private static final double GAUGE_MAX_VALUE = 40000;
+
+    private final RenderMode   renderMode;
+    private final ValueHistory history;
+
+    //canvas rendering, nur im RenderMode CANVAS
+    private TachometerCanvas canvas;
+    private PropellerCanvas  propellerCanvas;
+    private final DoubleProperty switchPosition = new SimpleDoubleProperty();
+
     //dial tachometer
     private Gauge   gauge;
-    private Button  button;
 
     //head windmill
     private Circle      backgroundCircle;
     private Text        display;
     private Polygon     propeller;
+    private Rotate      propellerRotation;
     private Rectangle   pillar;
 
     //Switch
@@ -108,51 +161,110 @@ public class Tachometer extends Region {
     private final StyleableObjectProperty<Color> baseColor = new SimpleStyleableObjectProperty<Color>(BASE_COLOR_META_DATA) {
         @Override
         protected void invalidated() {
-            setStyle(String.format("%s: %s;", getCssMetaData().getProperty(), colorToCss(get())));
-            applyCss();
+            // kein setStyle/applyCss pro Aenderung: die betroffenen Shapes werden im naechsten Layout-Pass
+            // direkt eingefaerbt, so kostet das Umfaerben beliebig vieler Tachometer nur einen Pass pro Pulse
+            baseColorDirty = true;
+            requestLayout();
         }
     };
 
-    private final ObjectProperty<Duration> pulse    = new SimpleObjectProperty<>(Duration.seconds(1.0));
+    private boolean baseColorDirty = true;
 
-    // all animations
-    private Transition onTransition;
-    private Transition offTransition;
+    private final ObjectProperty<Duration> pulse             = new SimpleObjectProperty<>(Duration.seconds(1.0));
+    private final ObjectProperty<Duration> animationDuration = new SimpleObjectProperty<>(Duration.millis(800));
 
-    private final AnimationTimer timer = new AnimationTimer() {
-        private long lastTimerCall;
+    // value ingestion aus beliebigen Threads, siehe submitValue
+    // NaN-Bitmuster, das Double.doubleToLongBits nie liefert (alle NaN werden dort auf 0x7ff8000000000000L normalisiert)
+    private static final long NO_SAMPLE = 0x7ff8_dead_beef_0001L;
 
-        @Override
-        public void handle(long now) {
-            if (now > lastTimerCall + (getPulse().toMillis() * 1_000_000L)) {
-                performPeriodicTask();
-                lastTimerCall = now;
-            }
-        }
-    };
+    private final AtomicLong pendingSample  = new AtomicLong(NO_SAMPLE);
+    private final LongAdder  samplesApplied = new LongAdder();
+    private final LongAdder  samplesDropped = new LongAdder();
+
+    // true, solange der PulseScheduler die Messwerte uebernimmt; sonst uebernimmt sie ein Platform.runLater
+    private volatile boolean clocked;
+    // true, waehrend ein via submitValue gelieferter Wert ins valueProperty geschrieben wird
+    private boolean          publishing;
+
+    // all animations
+    private Animation onTransition;
+    private Animation offTransition;
+
+    // werden beim Aendern der baseColor angepasst
+    private FillTransition onFill;
+    private FillTransition onFillThumb;
+    private FillTransition offFill;
+    private FillTransition offFillThumb;
 
     // resizing
-    private Pane drawingPane;
+    private Pane   drawingPane;
+    private double laidOutWidth  = -1;
+    private double laidOutHeight = -1;
+    private Insets laidOutPadding;
+
+    // die Teile werden erst beim ersten Layout-Pass erzeugt, siehe materialize
+    private boolean materialized;
 
     public Tachometer() {
+        this(RenderMode.NODES);
+    }
+
+    /**
+     * Ohne Historie, siehe {@link #Tachometer(RenderMode, int)}.
+     */
+    public Tachometer(RenderMode renderMode) {
+        this(renderMode, 0);
+    }
+
+    /**
+     * @param renderMode legt fest, wie der Tachometer gezeichnet wird
+     * @param historyCapacity Anzahl der Werte in der Historie, z.B. {@link #DEFAULT_HISTORY_CAPACITY}; belegt
+     *                        historyCapacity * {@link ValueHistory#BYTES_PER_SAMPLE} Bytes. 0 fuer keine Historie
+     */
+    public Tachometer(RenderMode renderMode, int historyCapacity) {
+        this.renderMode = renderMode;
+        this.history    = new ValueHistory(historyCapacity);
         initializeSelf();
+        setupEventHandlers();
+        setupPropellerSpeed();
+        setupHistory();
+    }
+
+    /**
+     * Erzeugt Teile, Gauge, Animationen und Listener beim ersten Layout-Pass (oder beim ersten Zugriff via
+     * getGauge/getPropeller). Tachometer, die nie angezeigt werden, z.B. in verborgenen Tabs, kosten so nur
+     * ihre Properties. Was vorher gesetzt wurde, steht in den Properties und wird hier uebernommen.
+     */
+    private void materialize() {
+        if (materialized) {
+            return;
+        }
+        materialized = true;
+
         initializeParts();
         initializeDrawingPane();
         initializeAnimations();
         layoutParts();
-        setupEventHandlers();
+        setupPartEventHandlers();
         setupValueChangeListeners();
         setupBindings();
+        applyState();
     }
 
     private void initializeSelf() {
         loadFonts("/fonts/Lato/Lato-Lig.ttf", "/fonts/Lato/Lato-Reg.ttf");
-        addStylesheetFiles("style.css");
         getStyleClass().add("tachometer");
 
     }
 
     private void initializeParts() {
+        if (renderMode == RenderMode.CANVAS) {
+            canvas          = new TachometerCanvas(ARTBOARD_WIDTH, ARTBOARD_HEIGHT);
+            propellerCanvas = new PropellerCanvas();
+            pillar          = createPillar();
+            return;
+        }
+
         gauge = GaugeBuilder.create()
                             .skinType(Gauge.SkinType.GAUGE)
                             .borderWidth(3.0)
@@ -164,14 +276,11 @@ public class Tachometer extends Region {
                             .needleColor(Color.rgb(70, 130,180))
                             .needleSize(Gauge.NeedleSize.THIN)
                             .prefSize(300, 300)
-                            .minValue(0)
-                            .maxValue(40000)
+                            .minValue(GAUGE_MIN_VALUE)
+                            .maxValue(GAUGE_MAX_VALUE)
                             .valueVisible(false)
                             .build();
 
-        button = new Button();
-        button.setOnMousePressed(event -> gauge.setValue(value.doubleValue() * gauge.getRange() + gauge.getMinValue()));
-
         backgroundCircle = new Circle(150, 140, 35);
         backgroundCircle.getStyleClass().add("background-circle");
 
@@ -179,6 +288,8 @@ public class Tachometer extends Region {
 
         propeller = new Polygon();
         propeller.getStyleClass().add("propeller");
+        propellerRotation = new Rotate(0, 150.0, 149.9);
+        propeller.getTransforms().add(propellerRotation);
         propeller.getPoints().setAll(
                 150.0, 20.0, //Spitze oben
                 130.0, 129.9, // Ecke links oben
@@ -198,12 +309,24 @@ public class Tachometer extends Region {
         frame.getStyleClass().add("frame");
         frame.setMouseTransparent(true);
 
-        pillar = new Rectangle();
+        pillar = createPillar();
+
+        // aendern sich nur bei Ein/Aus oder gar nicht, die Nadel-Updates zeichnen sie so nicht neu
+        for (Node part : new Node[]{pillar, propeller, backgroundCircle}) {
+            part.setCache(true);
+            part.setCacheHint(CacheHint.SPEED);
+        }
+    }
+
+    private static Rectangle createPillar() {
+        Rectangle pillar = new Rectangle();
         pillar.getStyleClass().add("pillar");
         pillar.setX(130);
         pillar.setY(150);
         pillar.setWidth(40);
         pillar.setHeight(57);
+
+        return pillar;
     }
 
     private void initializeDrawingPane() {
@@ -215,16 +338,22 @@ public class Tachometer extends Region {
     }
 
     private void initializeAnimations(){
+        if (renderMode == RenderMode.CANVAS) {
+            onTransition  = new Timeline(new KeyFrame(Duration.millis(500), new KeyValue(switchPosition, 1.0)));
+            offTransition = new Timeline(new KeyFrame(Duration.millis(500), new KeyValue(switchPosition, 0.0)));
+            return;
+        }
+
         //ToDo: alle deklarierten Animationen initialisieren
         TranslateTransition onTranslation = new TranslateTransition(Duration.millis(500), thumb);
         onTranslation.setFromX(0);
         onTranslation.setToX(16);
 
-        FillTransition onFill = new FillTransition(Duration.millis(500), frame);
+        onFill = new FillTransition(Duration.millis(500), frame);
         onFill.setFromValue(FRAME_OFF);
         onFill.setToValue(FRAME_ON);
 
-        FillTransition onFillThumb = new FillTransition(Duration.millis(500), thumb);
+        onFillThumb = new FillTransition(Duration.millis(500), thumb);
         onFillThumb.setFromValue(THUMB_OFF);
         onFillThumb.setToValue(THUMB_ON);
 
@@ -241,11 +370,11 @@ public class Tachometer extends Region {
         offTranslation.setFromX(16);
         offTranslation.setToX(0);
 
-        FillTransition offFill = new FillTransition(Duration.millis(500), frame);
+        offFill = new FillTransition(Duration.millis(500), frame);
         offFill.setFromValue(FRAME_ON);
         offFill.setToValue(FRAME_OFF);
 
-        FillTransition offFillThumb = new FillTransition(Duration.millis(500), thumb);
+        offFillThumb = new FillTransition(Duration.millis(500), thumb);
         offFillThumb.setFromValue(THUMB_ON);
         offFillThumb.setToValue(THUMB_OFF);
 
@@ -260,26 +389,143 @@ public class Tachometer extends Region {
     }
 
     private void layoutParts() {
-        drawingPane.getChildren().addAll(pillar, propeller, gauge, backgroundCircle, display, frame, thumb);
+        if (renderMode == RenderMode.CANVAS) {
+            drawingPane.getChildren().addAll(pillar, propellerCanvas, canvas);
+        } else {
+            drawingPane.getChildren().addAll(pillar, propeller, gauge, backgroundCircle, display, frame, thumb);
+        }
         getChildren().add(drawingPane);
     }
 
     private void setupEventHandlers() {
-        thumb.setOnMouseClicked(event -> setOn(!isOn()));
+        // getaktet wird durch den PulseScheduler, nur solange der Tachometer in einer Scene haengt
+        sceneProperty().addListener((observable, oldScene, newScene) -> startClockedAnimation(newScene != null));
+        pulseProperty().addListener((observable, oldPulse, newPulse) -> {
+            if (PulseScheduler.isRegistered(this)) {
+                PulseScheduler.register(this);
+            }
+        });
     }
 
-    private void setupValueChangeListeners() {
+    private void setupPropellerSpeed() {
+        // die Winkel rechnet der PulseScheduler fuer alle Tachometer gemeinsam weiter
+        valueProperty().addListener(observable -> PulseScheduler.propellerSpeedChanged(this));
+        onProperty().addListener(observable -> PulseScheduler.propellerSpeedChanged(this));
+    }
+
+    private void setupHistory() {
+        // auch solange die Teile noch nicht erzeugt sind
+        valueProperty().addListener(observable -> {
+            // via submitValue gelieferte Werte stehen schon in der Historie, und zwar alle
+            if (!publishing) {
+                recordHistory(getValue());
+            }
+            ControlMetrics.tachometerValueUpdated(getValue());
+        });
+    }
+
+    private void recordHistory(double value) {
+        if (history.isEnabled()) {
+            history.add(System.currentTimeMillis(), value);
+        }
+    }
+
+    private void setupPartEventHandlers() {
+        if (renderMode == RenderMode.CANVAS) {
+            canvas.setOnMouseClicked(event -> {
+                if (canvas.isOnSwitch(event.getX(), event.getY())) {
+                    setOn(!isOn());
+                }
+            });
+        } else {
+            thumb.setOnMouseClicked(event -> setOn(!isOn()));
+        }
+    }
 
-        valueProperty().addListener((observable, oldValue, newValue) -> rotateProperty());
+    private void setupValueChangeListeners() {
+        if (renderMode == RenderMode.CANVAS) {
+            valueProperty().addListener((observable, oldValue, newValue) -> repaint());
+            switchPosition.addListener((observable, oldValue, newValue) -> {
+                propellerCanvas.paint(switchPosition.get());
+                repaint();
+            });
+        } else {
+            // der einzige Weg, auf dem value in den Gauge kommt
+            valueProperty().addListener(observable -> gauge.setValue(getValue()));
+            animatedProperty().addListener(observable -> gauge.setAnimated(isAnimated()));
+            animationDurationProperty().addListener(observable -> gauge.setAnimationDuration((long) getAnimationDuration().toMillis()));
+        }
         onProperty().addListener((observable, oldValue, newValue) -> updateUI());
 
     }
 
     private void setupBindings() {
-        display.textProperty().bind(valueProperty().asString(CH, "%.2f" + " kW"));
+        if (renderMode == RenderMode.CANVAS) {
+            switchPosition.set(isOn() ? 1.0 : 0.0);
+            propellerCanvas.paint(switchPosition.get());
+            repaint();
+            return;
+        }
+        valueProperty().addListener(observable -> updateDisplay());
+        updateDisplay();
+
+        gauge.setAnimated(isAnimated());
+        gauge.setAnimationDuration((long) getAnimationDuration().toMillis());
+    }
+
+    private void updateDisplay() {
+        // der Formatter liefert dieselbe Instanz, solange sich der angezeigte Text nicht aendert
+        String text = displayFormatter.format(getValue());
+        if (text != display.getText()) {
+            display.setText(text);
+        }
+    }
+
+    private void repaint() {
+        canvas.paint(displayFormatter.format(getValue()), getValue(), GAUGE_MIN_VALUE, GAUGE_MAX_VALUE, switchPosition.get(), getBaseColor());
+    }
+
+    /**
+     * Faerbt die von der baseColor abhaengigen Teile (Thumb und Frame im eingeschalteten Zustand) direkt ein.
+     */
+    private void applyBaseColor() {
+        long start = ControlMetrics.begin();
+        baseColorDirty = false;
+        if (renderMode == RenderMode.CANVAS) {
+            repaint();
+            ControlMetrics.baseColorApplied(start);
+            return;
+        }
+
+        Color thumbOn = accentColor(getBaseColor());
+        Color frameOn = frameColor(getBaseColor());
+
+        onFillThumb.setToValue(thumbOn);
+        offFillThumb.setFromValue(thumbOn);
+        onFill.setToValue(frameOn);
+        offFill.setFromValue(frameOn);
+
+        if (isOn() && onTransition.getStatus() != Animation.Status.RUNNING) {
+            thumb.setFill(thumbOn);
+            frame.setFill(frameOn);
+        }
+        ControlMetrics.baseColorApplied(start);
+    }
+
+    static Color accentColor(Color baseColor) {
+        return baseColor == null ? THUMB_ON : baseColor;
+    }
+
+    static Color frameColor(Color baseColor) {
+        return baseColor == null ? FRAME_ON : baseColor.interpolate(Color.WHITE, 0.5);
     }
 
     private void updateUI(){
+        ControlMetrics.tachometerTransition(isOn());
+        if (!isAnimated()) {
+            applyState();
+            return;
+        }
         onTransition.stop();
         offTransition.stop();
         if(isOn()){
@@ -289,39 +535,163 @@ public class Tachometer extends Region {
         }
     }
 
-    private void performPeriodicTask(){
+    /**
+     * Bringt den Tachometer ohne Animation in den Zustand, der den aktuellen Properties entspricht.
+     *
+     * Gedacht fuer wiederverwendete Instanzen (siehe {@link TachometerCell} und {@link TachometerPool}): nach dem
+     * Binden an ein anderes Model laufen sonst die Ein-/Aus-Animationen des vorherigen Models weiter, und ein noch
+     * nicht uebernommener Messwert des vorherigen Models wuerde angezeigt. Die Historie beginnt neu mit dem
+     * aktuellen Wert.
+     */
+    public void reset() {
+        pendingSample.set(NO_SAMPLE);
+        // die Historie gehoert zum vorherigen Model
+        history.clear();
+        recordHistory(getValue());
+        if (materialized) {
+            applyState();
+        }
+    }
+
+    private void applyState() {
+        onTransition.stop();
+        offTransition.stop();
+
+        if (renderMode == RenderMode.CANVAS) {
+            switchPosition.set(isOn() ? 1.0 : 0.0);
+            return;
+        }
+
+        thumb.setTranslateX(isOn() ? 16 : 0);
+        thumb.setFill(isOn() ? accentColor(getBaseColor()) : THUMB_OFF);
+        frame.setFill(isOn() ? frameColor(getBaseColor()) : FRAME_OFF);
+        propeller.setFill(isOn() ? PROPELLER_ON : PROPELLER_OFF);
+
+        // Nadel ohne Animation auf den aktuellen Wert setzen
+        gauge.setAnimated(false);
+        gauge.setValue(getValue());
+        gauge.setAnimated(isAnimated());
+    }
+
+    /**
+     * Uebernimmt einen Messwert aus einem beliebigen Thread.
+     *
+     * Es wird nur der jeweils neueste Wert gehalten und hoechstens einmal pro Frame auf dem FX-Thread
+     * ins valueProperty geschrieben, auch wenn der Tachometer nicht zu sehen ist oder in keiner Scene haengt.
+     * Ueberschriebene, nie ins valueProperty uebernommene Werte werden als "dropped" gezaehlt; in der Historie
+     * stehen sie trotzdem.
+     *
+     * @param value der neue Messwert
+     */
+    public void submitValue(double value) {
+        recordHistory(value);
+        if (pendingSample.getAndSet(Double.doubleToLongBits(value)) != NO_SAMPLE) {
+            samplesDropped.increment();
+        } else if (!clocked) {
+            // ohne Scene kein PulseScheduler; erst nach dem Setzen lesen, siehe startClockedAnimation
+            Platform.runLater(this::publishPendingSample);
+        }
+    }
+
+    /**
+     * @return Drehgeschwindigkeit des Propellers in Grad pro Sekunde, proportional zu value, 0 falls ausgeschaltet
+     */
+    double propellerSpeed() {
+        if (!isOn()) {
+            return 0;
+        }
+        return Math.max(0, Math.min(1, valueToPercentage(getValue(), GAUGE_MIN_VALUE, GAUGE_MAX_VALUE))) * MAX_PROPELLER_SPEED;
+    }
+
+    /**
+     * Wird vom {@link PulseScheduler} pro Frame fuer sichtbare Tachometer mit drehendem Propeller aufgerufen.
+     */
+    void rotatePropeller(double angle) {
+        if (!materialized) {
+            return;
+        }
+        if (renderMode == RenderMode.CANVAS) {
+            // nur das Rotate der kleinen PropellerCanvas, die Skala wird dafuer nicht neu gezeichnet
+            propellerCanvas.setAngle(angle);
+        } else {
+            propellerRotation.setAngle(angle);
+        }
+    }
+
+    void publishPendingSample() {
+        long sample = pendingSample.getAndSet(NO_SAMPLE);
+        if (sample != NO_SAMPLE) {
+            publishing = true;
+            try {
+                setValue(Double.longBitsToDouble(sample));
+            } finally {
+                publishing = false;
+            }
+            samplesApplied.increment();
+        }
+    }
+
+    /**
+     * Wird vom {@link PulseScheduler} einmal pro Pulse aufgerufen, solange der Tachometer eingeschaltet und zu sehen ist.
+     */
+    void performPeriodicTask(){
         //ToDo: ergaenzen mit dem was bei der getakteten Animation gemacht werden muss
         //normalerweise: den Wert einer der Status-Properties aendern
     }
 
     private void startClockedAnimation(boolean start) {
         if (start) {
-            timer.start();
+            PulseScheduler.register(this);
+            clocked = true;
         } else {
-            timer.stop();
+            PulseScheduler.unregister(this);
+            clocked = false;
+            // ein Wert, der vor dem Zuruecksetzen von clocked geliefert wurde, wartet sonst auf den naechsten
+            publishPendingSample();
         }
     }
 
     @Override
     protected void layoutChildren() {
+        materialize();
         super.layoutChildren();
+        if (baseColorDirty) {
+            applyBaseColor();
+        }
         resize();
     }
 
     private void resize() {
-        Insets padding         = getPadding();
+        Insets padding = getPadding();
+        // z.B. wenn nur der Text im Display geaendert hat
+        if (getWidth() == laidOutWidth && getHeight() == laidOutHeight && padding.equals(laidOutPadding)) {
+            return;
+        }
+        long start = ControlMetrics.begin();
+
+        laidOutWidth   = getWidth();
+        laidOutHeight  = getHeight();
+        laidOutPadding = padding;
+
         double availableWidth  = getWidth() - padding.getLeft() - padding.getRight();
         double availableHeight = getHeight() - padding.getTop() - padding.getBottom();
 
         double width = Math.max(Math.min(Math.min(availableWidth, availableHeight * ASPECT_RATIO), MAXIMUM_WIDTH), MINIMUM_WIDTH);
 
-        double scalingFactor = width / ARTBOARD_WIDTH;
+        double scalingFactor = snapScale(width / ARTBOARD_WIDTH);
 
         if (availableWidth > 0 && availableHeight > 0) {
             relocateDrawingPaneCentered();
             drawingPane.setScaleX(scalingFactor);
             drawingPane.setScaleY(scalingFactor);
         }
+        ControlMetrics.tachometerResized(start, getWidth(), getHeight());
+    }
+
+    private static double snapScale(double scalingFactor) {
+        double snapped = Math.floor(scalingFactor / SCALE_STEP) * SCALE_STEP;
+
+        return Math.max(snapped, MINIMUM_WIDTH / ARTBOARD_WIDTH);
     }
 
     private void relocateDrawingPaneCentered() {
@@ -346,16 +716,7 @@ public class Tachometer extends Region {
     // Sammlung nuetzlicher Funktionen
 
     private void loadFonts(String... font){
-        for(String f : font){
-            Font.loadFont(getClass().getResourceAsStream(f), 0);
-        }
-    }
-
-    private void addStylesheetFiles(String... stylesheetFile){
-        for(String file : stylesheetFile){
-            String stylesheet = getClass().getResource(file).toExternalForm();
-            getStylesheets().add(stylesheet);
-        }
+        ResourceRegistry.loadFonts(font);
     }
 
     /**
@@ -596,6 +957,28 @@ public class Tachometer extends Region {
         this.value.set(value);
     }
 
+    /**
+     * @return die Werte der letzten Minuten, z.B. fuer eine {@link Sparkline}; leer, falls der Tachometer ohne
+     *         Historie erzeugt wurde
+     */
+    public ValueHistory getHistory() {
+        return history;
+    }
+
+    /**
+     * @return Anzahl der via submitValue gelieferten Werte, die ins valueProperty uebernommen wurden
+     */
+    public long getSamplesApplied() {
+        return samplesApplied.sum();
+    }
+
+    /**
+     * @return Anzahl der via submitValue gelieferten Werte, die vor dem naechsten Frame durch einen neueren ersetzt wurden
+     */
+    public long getSamplesDropped() {
+        return samplesDropped.sum();
+    }
+
     public Color getBaseColor() {
         return baseColor.get();
     }
@@ -660,6 +1043,10 @@ public class Tachometer extends Region {
         return animated.get();
     }
 
+    /**
+     * Ist animated ausgeschaltet, springen die Nadel direkt auf den neuen Wert und der Schalter direkt auf ein
+     * oder aus. Bei hohen Messraten spart das pro Messwert die Animation des Gauges.
+     */
     public BooleanProperty animatedProperty() {
         return animated;
     }
@@ -668,19 +1055,45 @@ public class Tachometer extends Region {
         this.animated.set(animated);
     }
 
+    public Duration getAnimationDuration() {
+        return animationDuration.get();
+    }
+
+    public ObjectProperty<Duration> animationDurationProperty() {
+        return animationDuration;
+    }
+
+    public void setAnimationDuration(Duration animationDuration) {
+        this.animationDuration.set(animationDuration);
+    }
+
+    /**
+     * @return der Propeller, im RenderMode CANVAS null
+     */
     public Polygon getPropeller() {
+        materialize();
         return propeller;
     }
 
     public void setPropeller(Polygon propeller) {
+        materialize();
         this.propeller = propeller;
     }
 
+    public RenderMode getRenderMode() {
+        return renderMode;
+    }
+
+    /**
+     * @return der Medusa-Gauge, im RenderMode CANVAS null
+     */
     public Gauge getGauge() {
+        materialize();
         return gauge;
     }
 
     public void setGauge(Gauge gauge) {
+        materialize();
         this.gauge = gauge;
     }
 }
\ No newline at end of file
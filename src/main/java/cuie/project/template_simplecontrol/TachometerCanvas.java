@@ -0,0 +1,147 @@
+package cuie.project.template_simplecontrol;
+
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.ArcType;
+import javafx.scene.shape.StrokeLineCap;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+
+/**
+ * Zeichnet Skala, Ticks, Zeiger, Display und Schalter des Tachometers auf eine einzige Canvas.
+ *
+ * Wird vom Tachometer im RenderMode CANVAS anstelle des Medusa-Gauge und der einzelnen Shapes verwendet.
+ * Gezeichnet wird nur, wenn sich value, on oder baseColor aendern. Der drehende Propeller liegt als
+ * {@link PropellerCanvas} darunter, damit seine Drehung diese Canvas nicht pro Frame neu zeichnen muss.
+ *
+ * @author Cristine Paduga / Chi Cuong Nguyen
+ */
+class TachometerCanvas extends Canvas {
+    private static final Color BACKGROUND_CIRCLE = Color.web("#B7C1C5");
+    private static final Color DIAL_BORDER       = Color.rgb(123, 123, 123);
+    private static final Color TICK              = Color.rgb(60, 60, 60);
+    private static final Color NEEDLE            = Color.rgb(70, 130, 180);
+    private static final Color TEXT              = Color.BLACK;
+
+    private static final double CENTER_X = 150;
+    private static final double CENTER_Y = 150;
+
+    private static final double   DIAL_RADIUS = 140;
+    private static final double   START_ANGLE = -110;  // 0 Grad entspricht "Nord"
+    private static final double   ANGLE_RANGE = 220;
+    private static final int      MAJOR_TICKS = 5;
+    private static final int      MINOR_TICKS = 10;    // pro Intervall zwischen zwei Major-Ticks
+    private static final String[] TICK_LABELS = {"0", "10000", "20000", "30000", "40000"};
+
+    private static final double BACKGROUND_RADIUS = 35;
+    private static final double DISPLAY_Y         = 140;
+
+    private static final double FRAME_X      = 138;
+    private static final double FRAME_Y      = 116.2;
+    private static final double FRAME_WIDTH  = 25;
+    private static final double FRAME_HEIGHT = 10;
+    private static final double FRAME_ARC    = 15;
+
+    private static final double THUMB_X      = 141;
+    private static final double THUMB_Y      = 121.38;
+    private static final double THUMB_RADIUS = 7;
+    private static final double THUMB_TRAVEL = 16;
+
+    private final Font tickFont    = Font.font("Lato Regular", 5);
+    private final Font displayFont = Font.font("Lato Light", 11);
+
+    TachometerCanvas(double width, double height) {
+        super(width, height);
+    }
+
+    /**
+     * Zeichnet den aktuellen Zustand des Tachometers neu.
+     *
+     * @param text der formatierte Wert fuer die Anzeige in der Mitte
+     * @param value aktueller Wert, wird auf der Skala zwischen minValue und maxValue angezeigt
+     * @param minValue untere Grenze der Skala
+     * @param maxValue obere Grenze der Skala
+     * @param switchPosition Position des Schalters zwischen 0 (aus) und 1 (ein)
+     * @param baseColor baseColor des Tachometers, bestimmt die Farben des eingeschalteten Schalters, darf null sein
+     */
+    void paint(String text, double value, double minValue, double maxValue, double switchPosition, Color baseColor) {
+        GraphicsContext gc = getGraphicsContext2D();
+        // ein clearRect ueber die ganze Canvas verwirft auch die noch nicht gerenderten Zeichenbefehle
+        gc.clearRect(0, 0, getWidth(), getHeight());
+
+        paintDial(value, minValue, maxValue);
+
+        gc.setFill(BACKGROUND_CIRCLE);
+        gc.fillOval(CENTER_X - BACKGROUND_RADIUS, DISPLAY_Y - BACKGROUND_RADIUS, BACKGROUND_RADIUS * 2, BACKGROUND_RADIUS * 2);
+
+        gc.setFill(TEXT);
+        gc.setFont(displayFont);
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setTextBaseline(VPos.CENTER);
+        gc.fillText(text, CENTER_X, DISPLAY_Y);
+
+        gc.setFill(Tachometer.FRAME_OFF.interpolate(Tachometer.frameColor(baseColor), switchPosition));
+        gc.fillRoundRect(FRAME_X, FRAME_Y, FRAME_WIDTH, FRAME_HEIGHT, FRAME_ARC, FRAME_ARC);
+
+        double thumbX = THUMB_X + THUMB_TRAVEL * switchPosition;
+        gc.setFill(Color.rgb(0, 0, 0, 0.3));
+        gc.fillOval(thumbX - THUMB_RADIUS, THUMB_Y - THUMB_RADIUS + 1, THUMB_RADIUS * 2, THUMB_RADIUS * 2);
+        gc.setFill(Tachometer.THUMB_OFF.interpolate(Tachometer.accentColor(baseColor), switchPosition));
+        gc.fillOval(thumbX - THUMB_RADIUS, THUMB_Y - THUMB_RADIUS, THUMB_RADIUS * 2, THUMB_RADIUS * 2);
+    }
+
+    /**
+     * Prueft, ob der angegebene Punkt (in Koordinaten der Canvas) auf dem Schalter liegt.
+     */
+    boolean isOnSwitch(double x, double y) {
+        return x >= FRAME_X - THUMB_RADIUS && x <= FRAME_X + FRAME_WIDTH + THUMB_RADIUS &&
+               y >= THUMB_Y - THUMB_RADIUS && y <= THUMB_Y + THUMB_RADIUS;
+    }
+
+    private void paintDial(double value, double minValue, double maxValue) {
+        GraphicsContext gc = getGraphicsContext2D();
+
+        gc.setLineCap(StrokeLineCap.BUTT);
+        gc.setStroke(DIAL_BORDER);
+        gc.setLineWidth(3);
+        // Arc-Winkel von JavaFX: 0 Grad entspricht "Ost", positiv im Gegenuhrzeigersinn
+        gc.strokeArc(CENTER_X - DIAL_RADIUS, CENTER_Y - DIAL_RADIUS, DIAL_RADIUS * 2, DIAL_RADIUS * 2,
+                     90 - START_ANGLE - ANGLE_RANGE, ANGLE_RANGE, ArcType.OPEN);
+
+        gc.setStroke(TICK);
+        gc.setFill(TICK);
+        gc.setFont(tickFont);
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setTextBaseline(VPos.CENTER);
+
+        int    steps = (MAJOR_TICKS - 1) * MINOR_TICKS;
+        double outer = DIAL_RADIUS - 3;
+        for (int i = 0; i <= steps; i++) {
+            double  angle = Math.toRadians(START_ANGLE + ANGLE_RANGE * i / steps);
+            boolean major = i % MINOR_TICKS == 0;
+            double  inner = outer - (major ? 10 : 5);
+            double  sin   = Math.sin(angle);
+            double  cos   = Math.cos(angle);
+
+            gc.setLineWidth(major ? 1.5 : 0.5);
+            gc.strokeLine(CENTER_X + outer * sin, CENTER_Y - outer * cos,
+                          CENTER_X + inner * sin, CENTER_Y - inner * cos);
+            if (major) {
+                double labelRadius = inner - 8;
+                gc.fillText(TICK_LABELS[i / MINOR_TICKS], CENTER_X + labelRadius * sin, CENTER_Y - labelRadius * cos);
+            }
+        }
+
+        double percentage  = Math.max(0, Math.min(1, (value - minValue) / (maxValue - minValue)));
+        double needleAngle = Math.toRadians(START_ANGLE + ANGLE_RANGE * percentage);
+        double needleEnd   = outer - 12;
+
+        gc.setStroke(NEEDLE);
+        gc.setLineWidth(2);
+        gc.setLineCap(StrokeLineCap.ROUND);
+        gc.strokeLine(CENTER_X, CENTER_Y,
+                      CENTER_X + needleEnd * Math.sin(needleAngle), CENTER_Y - needleEnd * Math.cos(needleAngle));
+    }
+}
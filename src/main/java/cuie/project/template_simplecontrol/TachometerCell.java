@@ -0,0 +1,124 @@
+package cuie.project.template_simplecontrol;
+
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+import javafx.scene.control.ContentDisplay;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.util.Callback;
+
+/**
+ * ListCell, die ihren Tachometer fuer alle Items wiederverwendet, die sie im Laufe des Scrollens anzeigt.
+ *
+ * Beim Wechsel des Items wird der Tachometer vom bisherigen Item geloest, an das neue gebunden und mit
+ * {@link Tachometer#reset()} ohne Animation in dessen Zustand gebracht. Der Konstruktor des Tachometers
+ * laeuft also nur einmal pro Zelle, nicht einmal pro Zeile.
+ *
+ * Kommt der Tachometer aus einem {@link TachometerPool}, geht er dorthin zurueck, sobald die ListView die Zelle
+ * verwirft (z.B. bei einer neuen CellFactory), also wenn die Zelle aus der Scene entfernt wird. Wird sie spaeter
+ * wieder angezeigt, holt sie sich einen neuen aus dem Pool.
+ *
+ * @param <T> Typ der Items, typischerweise ein PresentationModel
+ */
+public class TachometerCell<T> extends ListCell<T> {
+    private final TachometerPool            pool;
+    private final BiConsumer<Tachometer, T> binder;
+    private final BiConsumer<Tachometer, T> unbinder;
+
+    // null, solange die Zelle ihren Tachometer an den Pool zurueckgegeben hat
+    private Tachometer tachometer;
+    private T          boundItem;
+
+    /**
+     * @param tachometer der Tachometer dieser Zelle, bleibt bei ihr, bis sie verworfen wird
+     * @param binder bindet den Tachometer an ein Item
+     * @param unbinder loest genau die Bindings, die binder erstellt hat
+     */
+    public TachometerCell(Tachometer tachometer, BiConsumer<Tachometer, T> binder, BiConsumer<Tachometer, T> unbinder) {
+        this(null, tachometer, binder, unbinder);
+    }
+
+    /**
+     * @param pool liefert den Tachometer dieser Zelle und erhaelt ihn zurueck, wenn die Zelle verworfen wird
+     * @param binder bindet den Tachometer an ein Item
+     * @param unbinder loest genau die Bindings, die binder erstellt hat
+     */
+    public TachometerCell(TachometerPool pool, BiConsumer<Tachometer, T> binder, BiConsumer<Tachometer, T> unbinder) {
+        this(pool, pool.acquire(), binder, unbinder);
+    }
+
+    private TachometerCell(TachometerPool pool, Tachometer tachometer, BiConsumer<Tachometer, T> binder, BiConsumer<Tachometer, T> unbinder) {
+        this.pool       = pool;
+        this.tachometer = tachometer;
+        this.binder     = binder;
+        this.unbinder   = unbinder;
+
+        getStyleClass().add("tachometer-cell");
+        setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+        if (pool != null) {
+            sceneProperty().addListener((observable, oldScene, newScene) -> {
+                if (newScene == null) {
+                    releaseTachometer();
+                }
+            });
+        }
+    }
+
+    public static <T> Callback<ListView<T>, ListCell<T>> forListView(Supplier<Tachometer> tachometers, BiConsumer<Tachometer, T> binder, BiConsumer<Tachometer, T> unbinder) {
+        return listView -> new TachometerCell<>(tachometers.get(), binder, unbinder);
+    }
+
+    /**
+     * Zellen, die ihre Tachometer aus dem pool holen und sie beim Verwerfen dorthin zurueckgeben.
+     */
+    public static <T> Callback<ListView<T>, ListCell<T>> forListView(TachometerPool pool, BiConsumer<Tachometer, T> binder, BiConsumer<Tachometer, T> unbinder) {
+        return listView -> new TachometerCell<>(pool, binder, unbinder);
+    }
+
+    @Override
+    protected void updateItem(T item, boolean empty) {
+        super.updateItem(item, empty);
+
+        // wird beim Layout oft mit demselben Item aufgerufen
+        if (!empty && item != null && item == boundItem) {
+            return;
+        }
+        if (boundItem != null) {
+            unbinder.accept(tachometer, boundItem);
+            boundItem = null;
+        }
+        if (empty || item == null) {
+            setGraphic(null);
+            return;
+        }
+
+        if (tachometer == null) {
+            tachometer = pool.acquire();
+        }
+        binder.accept(tachometer, item);
+        boundItem = item;
+        tachometer.reset();
+        setGraphic(tachometer);
+    }
+
+    private void releaseTachometer() {
+        if (tachometer == null) {
+            return;
+        }
+        if (boundItem != null) {
+            unbinder.accept(tachometer, boundItem);
+            boundItem = null;
+        }
+        setGraphic(null);
+        pool.release(tachometer);
+        tachometer = null;
+    }
+
+    /**
+     * @return der Tachometer dieser Zelle, null, solange sie ihn an den Pool zurueckgegeben hat
+     */
+    public Tachometer getTachometer() {
+        return tachometer;
+    }
+}
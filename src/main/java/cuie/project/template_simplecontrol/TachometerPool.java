@@ -0,0 +1,73 @@
+package cuie.project.template_simplecontrol;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Haelt nicht mehr benoetigte Tachometer zur Wiederverwendung bereit, damit beim Scrollen durch lange
+ * Turbinen-Listen nicht fuer jede Zeile Gauge, Effekte und Animationen neu erzeugt werden muessen.
+ *
+ * Wird nur im FX-Thread verwendet.
+ */
+public final class TachometerPool {
+    private final Tachometer.RenderMode renderMode;
+    private final int                   maxIdle;
+    private final Deque<Tachometer>     idle = new ArrayDeque<>();
+
+    private int created;
+
+    /**
+     * @param renderMode RenderMode der neu erzeugten Tachometer
+     * @param maxIdle so viele freigegebene Tachometer werden hoechstens aufbewahrt, weitere werden verworfen
+     */
+    public TachometerPool(Tachometer.RenderMode renderMode, int maxIdle) {
+        this.renderMode = renderMode;
+        this.maxIdle    = maxIdle;
+    }
+
+    /**
+     * @return ein freigegebener Tachometer, mit {@link Tachometer#reset()} zurueckgesetzt, oder, falls keiner
+     *         frei ist, ein neuer
+     */
+    public Tachometer acquire() {
+        Tachometer tachometer = idle.pollFirst();
+        if (tachometer == null) {
+            tachometer = new Tachometer(renderMode);
+            created++;
+        } else {
+            tachometer.reset();
+        }
+        return tachometer;
+    }
+
+    /**
+     * Gibt einen Tachometer zur Wiederverwendung frei. Er muss vorher vom Model geloest und aus dem
+     * Scene-Graph entfernt worden sein; {@link #acquire()} setzt ihn vor der naechsten Verwendung zurueck.
+     */
+    public void release(Tachometer tachometer) {
+        if (idle.size() < maxIdle) {
+            idle.addFirst(tachometer);
+        }
+    }
+
+    /**
+     * Erzeugt vorab Tachometer, z.B. waehrend die Applikation startet.
+     */
+    public void prefill(int count) {
+        while (idle.size() < Math.min(count, maxIdle)) {
+            idle.addFirst(new Tachometer(renderMode));
+            created++;
+        }
+    }
+
+    /**
+     * @return Anzahl der bisher erzeugten Tachometer
+     */
+    public int getCreated() {
+        return created;
+    }
+
+    public int getIdle() {
+        return idle.size();
+    }
+}
@@ -0,0 +1,130 @@
+package cuie.project.template_simplecontrol;
+
+/**
+ * Ringpuffer mit den letzten Messwerten eines Tachometers, ohne geboxte Werte.
+ *
+ * Pro Messwert werden ein long (Zeitpunkt in Millisekunden) und ein double gespeichert, also
+ * {@link #BYTES_PER_SAMPLE} Bytes. Der Speicherbedarf ist damit fest: capacity * 16 Bytes, z.B. 96 KB fuer
+ * 10 Minuten bei 10 Messwerten pro Sekunde. Die Arrays werden erst beim ersten Messwert angelegt; Tachometer,
+ * die nie einen Wert bekommen, belegen nichts. Mit capacity 0 wird nichts gespeichert.
+ *
+ * Thread-safe, synchronisiert auf die Instanz: Messwerte kommen aus beliebigen Threads. Ein von
+ * {@link #downsample(int, long)} gelieferter Downsampler darf nur gelesen werden, solange man selbst auf die
+ * Historie synchronisiert.
+ */
+public final class ValueHistory {
+    public static final int BYTES_PER_SAMPLE = Long.BYTES + Double.BYTES;
+
+    private final int capacity;
+
+    private long[]   times;
+    private double[] values;
+    private int      next;
+    private int      size;
+
+    private Downsampler downsampler;
+
+    /**
+     * @param capacity Anzahl Messwerte, die gehalten werden; aeltere werden ueberschrieben. 0 fuer keine Historie
+     */
+    public ValueHistory(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must not be negative");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * @return false, falls die Historie mit capacity 0 erzeugt wurde und nichts speichert
+     */
+    public boolean isEnabled() {
+        return capacity > 0;
+    }
+
+    public synchronized void add(long time, double value) {
+        if (capacity == 0) {
+            return;
+        }
+        if (times == null) {
+            times  = new long[capacity];
+            values = new double[capacity];
+        }
+        times[next]  = time;
+        values[next] = value;
+        next = next + 1 == capacity ? 0 : next + 1;
+        if (size < capacity) {
+            size++;
+        }
+
+        if (downsampler != null) {
+            downsampler.add(time, value);
+        }
+    }
+
+    public synchronized void clear() {
+        next = 0;
+        size = 0;
+        if (downsampler != null) {
+            downsampler = new Downsampler(downsampler.getColumns(), downsampler.getWindowMillis());
+        }
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @param i 0 ist der aelteste gehaltene Messwert, size() - 1 der neueste
+     */
+    public synchronized long getTime(int i) {
+        return times[index(i)];
+    }
+
+    /**
+     * @param i 0 ist der aelteste gehaltene Messwert, size() - 1 der neueste
+     */
+    public synchronized double getValue(int i) {
+        return values[index(i)];
+    }
+
+    /**
+     * Liefert die auf columns Spalten verdichtete Historie der letzten windowMillis Millisekunden.
+     *
+     * Beim ersten Aufruf und wenn sich columns oder windowMillis aendern, wird einmal der ganze Puffer verdichtet.
+     * Danach wird jeder neue Messwert beim Hinzufuegen in seine Spalte eingerechnet. Das Zeitfenster endet beim
+     * neuesten Messwert.
+     */
+    public synchronized Downsampler downsample(int columns, long windowMillis) {
+        if (downsampler == null || downsampler.getColumns() != columns || downsampler.getWindowMillis() != windowMillis) {
+            downsampler = new Downsampler(columns, windowMillis);
+            for (int i = 0; i < size; i++) {
+                downsampler.add(getTime(i), getValue(i));
+            }
+        }
+        return downsampler;
+    }
+
+    /**
+     * Wie {@link #downsample(int, long)}, aber das Zeitfenster endet bei now, auch wenn seither kein Messwert mehr
+     * kam: eine Turbine, die nichts mehr meldet, zeigt leere Spalten statt der Minuten vor ihrem letzten Wert.
+     *
+     * @param now aktuelle Zeit in Millisekunden, wie die Zeitpunkte der Messwerte
+     */
+    public synchronized Downsampler downsample(int columns, long windowMillis, long now) {
+        Downsampler result = downsample(columns, windowMillis);
+        result.advanceTo(now);
+        return result;
+    }
+
+    private int index(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException(i);
+        }
+        int index = next - size + i;
+        return index < 0 ? index + capacity : index;
+    }
+}
@@ -70,7 +70,6 @@ public class DemoPane extends BorderPane {
         stateSwitch.selectedProperty().bindBidirectional(pm.runningProperty());
 
         //bindings Controls to pm
-        tachometer.getGauge().valueProperty().bindBidirectional(pm.pmValueProperty());
         tachometer.valueProperty().bindBidirectional(pm.pmValueProperty());
         tachometer.baseColorProperty().bindBidirectional(pm.baseColorProperty());
         tachometer.onProperty().bindBidirectional(pm.runningProperty());
@@ -5,8 +5,15 @@ import javafx.scene.Scene;
 import javafx.scene.layout.Region;
 import javafx.stage.Stage;
 
+import cuie.project.common.ResourceRegistry;
+
 public class DemoStarter extends Application {
 
+    @Override
+    public void init() {
+        ResourceRegistry.preloadInBackground();
+    }
+
     @Override
     public void start(Stage primaryStage) {
         PresentationModel pm        = new PresentationModel();
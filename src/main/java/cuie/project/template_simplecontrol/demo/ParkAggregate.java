@@ -0,0 +1,196 @@
+package cuie.project.template_simplecontrol.demo;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import javafx.animation.AnimationTimer;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+
+/**
+ * Summe, Minimum, Maximum und Anzahl laufender Turbinen eines ganzen Windparks, inkrementell nachgefuehrt statt
+ * ueber eine Kette von Bindings ueber alle PresentationModels.
+ *
+ * {@link #update(int, double, boolean)} darf aus beliebig vielen Threads aufgerufen werden und kostet pro
+ * Messwert konstant viel: der Messwert einer Turbine wird mit einem einzigen getAndSet in ihren Slot geschrieben,
+ * die Differenz zum vorherigen Messwert geht in LongAdder. Gerechnet wird in Festkomma (1/{@link #SCALE}),
+ * damit die Summe auch nach Milliarden von Differenzen exakt bleibt. Die Slots liegen je auf einer eigenen
+ * Cache-Line, Updates verschiedener Turbinen stoeren sich also nicht.
+ *
+ * Minimum und Maximum werden nicht bei jedem Messwert gesucht: ein Update markiert sie nur als veraltet, wenn der
+ * neue Wert ausserhalb liegt oder der alte Wert das Minimum oder Maximum war. Neu bestimmt werden sie hoechstens
+ * einmal pro Pulse, beim Erstellen des Snapshots.
+ *
+ * Nach {@link #start()} wird pro Pulse hoechstens ein {@link ParkSnapshot} veroeffentlicht, und nur, wenn sich
+ * seit dem letzten etwas geaendert hat.
+ */
+public final class ParkAggregate {
+    public static final double SCALE = 1000;
+
+    // pro Turbine eine Cache-Line (8 longs)
+    private static final int STRIDE = 8;
+
+    // Slot: Messwert in Festkomma << 2 | REPORTED | RUNNING
+    private static final long REPORTED = 0b10;
+    private static final long RUNNING  = 0b01;
+
+    private final int             turbines;
+    private final AtomicLongArray slots;
+
+    private final LongAdder     output        = new LongAdder();
+    private final LongAdder     reporting     = new LongAdder();
+    private final LongAdder     running       = new LongAdder();
+    private final LongAdder     samples       = new LongAdder();
+    private final LongAdder     changes       = new LongAdder();
+    private final LongAdder     snapshots     = new LongAdder();
+    private final AtomicBoolean extremesStale = new AtomicBoolean();
+
+    // werden nur beim Erstellen des Snapshots geschrieben
+    private volatile long    min = Long.MAX_VALUE;
+    private volatile long    max = Long.MIN_VALUE;
+    // waehrend der Suche nach Minimum und Maximum, ein Update kann dann nicht gegen die alten Extremwerte pruefen
+    private volatile boolean scanning;
+
+    private final ReadOnlyObjectWrapper<ParkSnapshot> snapshot;
+
+    private AnimationTimer timer;
+    private long           publishedChanges;
+
+    public ParkAggregate(int turbines) {
+        this.turbines = turbines;
+        slots    = new AtomicLongArray(turbines * STRIDE);
+        snapshot = new ReadOnlyObjectWrapper<>(new ParkSnapshot(turbines, 0, 0, 0, Double.NaN, Double.NaN));
+    }
+
+    /**
+     * Uebernimmt den aktuellen Messwert einer Turbine. Darf aus jedem Thread aufgerufen werden.
+     *
+     * @param turbine 0 bis Anzahl Turbinen - 1
+     */
+    public void update(int turbine, double value, boolean running) {
+        samples.increment();
+
+        long fixed = Math.round(value * SCALE);
+        long slot  = fixed << 2 | REPORTED | (running ? RUNNING : 0);
+        long old   = slots.getAndSet(turbine * STRIDE, slot);
+        if (old == slot) {
+            return;
+        }
+
+        boolean wasReported = (old & REPORTED) != 0;
+        long    oldFixed    = old >> 2;
+        if (fixed != oldFixed) {
+            output.add(fixed - oldFixed);
+        }
+        if (!wasReported) {
+            reporting.increment();
+        }
+        long runningDelta = (slot & RUNNING) - (old & RUNNING);
+        if (runningDelta != 0) {
+            this.running.add(runningDelta);
+        }
+
+        // scanning vor min und max lesen: ist die Suche schon fertig, sind auch ihre Extremwerte sichtbar
+        boolean duringScan = scanning;
+        long    currentMin = min;
+        long    currentMax = max;
+        boolean stale      = duringScan || fixed < currentMin || fixed > currentMax
+                             || wasReported && (oldFixed <= currentMin || oldFixed >= currentMax);
+        // zuerst lesen, damit die Cache-Line nicht bei jedem Update geschrieben wird
+        if (stale && !extremesStale.get()) {
+            extremesStale.set(true);
+        }
+
+        // zuletzt, damit ein Snapshot, der diese Aenderung zaehlt, auch alles andere davon sieht
+        changes.increment();
+    }
+
+    /**
+     * Veroeffentlicht ab jetzt einmal pro Pulse einen Snapshot. Im FX-Thread aufrufen.
+     */
+    public void start() {
+        if (timer == null) {
+            timer = new AnimationTimer() {
+                @Override
+                public void handle(long now) {
+                    publish();
+                }
+            };
+        }
+        timer.start();
+    }
+
+    public void stop() {
+        if (timer != null) {
+            timer.stop();
+        }
+    }
+
+    /**
+     * Setzt einen neuen Snapshot, falls sich seit dem letzten etwas geaendert hat. Im FX-Thread aufrufen.
+     */
+    void publish() {
+        long currentChanges = changes.sum();
+        if (currentChanges == publishedChanges) {
+            return;
+        }
+        publishedChanges = currentChanges;
+        snapshot.set(takeSnapshot());
+        snapshots.increment();
+    }
+
+    ParkSnapshot takeSnapshot() {
+        if (extremesStale.get()) {
+            // Updates waehrend der Suche markieren die Extremwerte immer wieder als veraltet, auch wenn sie den
+            // Slot erst nach dem Lesen hier aendern; der naechste Snapshot sucht dann nochmals
+            scanning = true;
+            extremesStale.set(false);
+            long newMin = Long.MAX_VALUE;
+            long newMax = Long.MIN_VALUE;
+            for (int turbine = 0; turbine < turbines; turbine++) {
+                long slot = slots.get(turbine * STRIDE);
+                if ((slot & REPORTED) != 0) {
+                    newMin = Math.min(newMin, slot >> 2);
+                    newMax = Math.max(newMax, slot >> 2);
+                }
+            }
+            min = newMin;
+            max = newMax;
+            scanning = false;
+        }
+        long reported = reporting.sum();
+        return new ParkSnapshot(turbines,
+                                reported,
+                                running.sum(),
+                                output.sum() / SCALE,
+                                reported == 0 ? Double.NaN : min / SCALE,
+                                reported == 0 ? Double.NaN : max / SCALE);
+    }
+
+    /**
+     * @return Anzahl uebernommener Messwerte
+     */
+    public long getSamples() {
+        return samples.sum();
+    }
+
+    /**
+     * @return Anzahl veroeffentlichter Snapshots
+     */
+    public long getSnapshots() {
+        return snapshots.sum();
+    }
+
+    public int getTurbines() {
+        return turbines;
+    }
+
+    public ParkSnapshot getSnapshot() {
+        return snapshot.get();
+    }
+
+    public ReadOnlyObjectProperty<ParkSnapshot> snapshotProperty() {
+        return snapshot.getReadOnlyProperty();
+    }
+}
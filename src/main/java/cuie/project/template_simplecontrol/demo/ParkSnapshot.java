@@ -0,0 +1,66 @@
+package cuie.project.template_simplecontrol.demo;
+
+/**
+ * Unveraenderlicher Zustand des ganzen Windparks zu einem Zeitpunkt, erzeugt von {@link ParkAggregate}.
+ *
+ * Summe, Minimum, Maximum und Durchschnitt beziehen sich auf die Turbinen, die schon einen Messwert geliefert
+ * haben; solange das keine ist, sind Minimum, Maximum und Durchschnitt NaN.
+ */
+public final class ParkSnapshot {
+    private final int    turbines;
+    private final long   reporting;
+    private final long   running;
+    private final double output;
+    private final double min;
+    private final double max;
+
+    ParkSnapshot(int turbines, long reporting, long running, double output, double min, double max) {
+        this.turbines  = turbines;
+        this.reporting = reporting;
+        this.running   = running;
+        this.output    = output;
+        this.min       = min;
+        this.max       = max;
+    }
+
+    /**
+     * @return Anzahl Turbinen im Park
+     */
+    public int getTurbines() {
+        return turbines;
+    }
+
+    /**
+     * @return Anzahl Turbinen mit mindestens einem Messwert
+     */
+    public long getReporting() {
+        return reporting;
+    }
+
+    public long getRunning() {
+        return running;
+    }
+
+    public long getStopped() {
+        return reporting - running;
+    }
+
+    /**
+     * @return Summe der aktuellen Messwerte aller Turbinen
+     */
+    public double getOutput() {
+        return output;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    public double getAverage() {
+        return reporting == 0 ? Double.NaN : output / reporting;
+    }
+}
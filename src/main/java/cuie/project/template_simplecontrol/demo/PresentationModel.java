@@ -3,14 +3,71 @@ package cuie.project.template_simplecontrol.demo;
 import javafx.beans.property.*;
 import javafx.scene.paint.Color;
 
+/**
+ * Der aktuelle Messwert (value, running, min, max) steht als Ganzes in {@link #sampleProperty()}; die einzelnen
+ * Properties zeigen dieselben Werte und bleiben fuer bidirektionale Bindings, z.B. an einen Slider, erhalten.
+ *
+ * {@link #update(TelemetrySample)} setzt zuerst alle Felder, erst danach wird benachrichtigt: wer auf
+ * sampleProperty hoert, wird pro Messwert genau einmal benachrichtigt, wer auf einzelne Properties hoert, sieht
+ * auch dort immer den kompletten neuen Messwert. Wird ein Feld einzeln gesetzt, entsteht daraus ein neuer
+ * Messwert.
+ */
 public class PresentationModel {
-    private final DoubleProperty        pmValue         = new SimpleDoubleProperty();
+    private final SampleDoubleProperty  pmValue         = new SampleDoubleProperty(0);
     private final ObjectProperty<Color> baseColor       = new SimpleObjectProperty<>();
-    private final BooleanProperty       running         = new SimpleBooleanProperty(true);
-    private final DoubleProperty        min             = new SimpleDoubleProperty(0);
-    private final DoubleProperty        max             = new SimpleDoubleProperty(40000);
+    private final SampleBooleanProperty running         = new SampleBooleanProperty(true);
+    private final SampleDoubleProperty  min             = new SampleDoubleProperty(0);
+    private final SampleDoubleProperty  max             = new SampleDoubleProperty(40000);
     private final BooleanProperty       animated        = new SimpleBooleanProperty(true);
 
+    private final ReadOnlyObjectWrapper<TelemetrySample> sample = new ReadOnlyObjectWrapper<>(new TelemetrySample(0, true, 0, 40000));
+
+    // waehrend update halten die Felder ihre Benachrichtigungen zurueck
+    private boolean updating;
+
+    /**
+     * Uebernimmt einen kompletten Messwert. Im FX-Thread aufrufen, aus anderen Threads via {@link TelemetryBatch}.
+     *
+     * sampleProperty wird einmal gesetzt, danach feuern die Properties, deren Wert sich geaendert hat, je einmal;
+     * zu diesem Zeitpunkt sind alle Felder schon uebernommen. Dashboards, die nur anzeigen, hoeren auf
+     * sampleProperty statt auf die einzelnen Properties.
+     *
+     * @param sample der neue Messwert
+     */
+    public void update(TelemetrySample sample) {
+        updating = true;
+        try {
+            min.set(sample.getMin());
+            max.set(sample.getMax());
+            running.set(sample.isRunning());
+            pmValue.set(sample.getValue());
+        } finally {
+            updating = false;
+        }
+        this.sample.set(sample);
+
+        // zuerst der Wertebereich, damit value nie ausserhalb des gueltigen Bereichs gesetzt wird
+        min.fireDeferred();
+        max.fireDeferred();
+        running.fireDeferred();
+        pmValue.fireDeferred();
+    }
+
+    // ein Feld wurde einzeln gesetzt, z.B. ueber ein bidirektionales Binding
+    private void fieldChanged() {
+        if (!updating) {
+            sample.set(new TelemetrySample(getPmValue(), getRunning(), getMin(), getMax()));
+        }
+    }
+
+    public TelemetrySample getSample() {
+        return sample.get();
+    }
+
+    public ReadOnlyObjectProperty<TelemetrySample> sampleProperty() {
+        return sample.getReadOnlyProperty();
+    }
+
     public double getPmValue() {
         return pmValue.get();
     }
@@ -82,4 +139,66 @@ public class PresentationModel {
     public void setAnimated(boolean animated) {
         this.animated.set(animated);
     }
+
+    private final class SampleDoubleProperty extends SimpleDoubleProperty {
+        private boolean deferred;
+
+        SampleDoubleProperty(double initialValue) {
+            super(initialValue);
+        }
+
+        @Override
+        protected void invalidated() {
+            fieldChanged();
+        }
+
+        @Override
+        protected void fireValueChangedEvent() {
+            if (updating) {
+                deferred = true;
+            } else {
+                super.fireValueChangedEvent();
+            }
+        }
+
+        void fireDeferred() {
+            if (deferred) {
+                deferred = false;
+                // wieder gueltig, sonst ruft die naechste Aenderung invalidated nicht auf
+                get();
+                super.fireValueChangedEvent();
+            }
+        }
+    }
+
+    private final class SampleBooleanProperty extends SimpleBooleanProperty {
+        private boolean deferred;
+
+        SampleBooleanProperty(boolean initialValue) {
+            super(initialValue);
+        }
+
+        @Override
+        protected void invalidated() {
+            fieldChanged();
+        }
+
+        @Override
+        protected void fireValueChangedEvent() {
+            if (updating) {
+                deferred = true;
+            } else {
+                super.fireValueChangedEvent();
+            }
+        }
+
+        void fireDeferred() {
+            if (deferred) {
+                deferred = false;
+                // wieder gueltig, sonst ruft die naechste Aenderung invalidated nicht auf
+                get();
+                super.fireValueChangedEvent();
+            }
+        }
+    }
 }
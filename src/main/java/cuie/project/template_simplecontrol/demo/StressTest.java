@@ -0,0 +1,273 @@
+package cuie.project.template_simplecontrol.demo;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.geometry.Insets;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.TilePane;
+import javafx.stage.Stage;
+
+import cuie.project.template_simplecontrol.PulseScheduler;
+import cuie.project.template_simplecontrol.Tachometer;
+
+/**
+ * Windpark-Dashboard unter Last: N Tachometer, jeder an sein eigenes PresentationModel gebunden, werden mit
+ * synthetischen Messwerten gefuettert.
+ *
+ * Jede Sekunde werden Pulse-FPS, Auslastung des FX-Threads (CPU-Zeit des Threads im Verhaeltnis zur
+ * vergangenen Zeit), GC-Pausen und Heap ausgegeben, am Ende eine Zusammenfassung. Ueber den Tachometern zeigt
+ * ein Kopf die Kennzahlen des ganzen Parks, nachgefuehrt von {@link ParkAggregate}.
+ *
+ * Parameter: --instances=1000 --rate=10 (Messwerte pro Sekunde und Turbine) --seconds=30 --headless=true.
+ * Mit --headless=true laeuft der Test ohne Bildschirm (Monocle Headless, Software-Rendering), z.B. auf einem
+ * CI-Server: {@code ./gradlew stressTest -PstressArgs="--instances=2000 --rate=20"}
+ */
+public class StressTest extends Application {
+    private static final int    DEFAULT_INSTANCES = 1000;
+    private static final double DEFAULT_RATE      = 10;
+    private static final int    DEFAULT_SECONDS   = 30;
+
+    private final List<PresentationModel> models = new ArrayList<>();
+
+    // wird im Telemetrie-Thread gefuellt und mit einem runLater pro Tick im FX-Thread uebernommen
+    private final TelemetryBatch batch = new TelemetryBatch();
+
+    // Summe, Minimum, Maximum und laufende Turbinen, direkt vom Telemetrie-Thread nachgefuehrt
+    private ParkAggregate park;
+
+    private ScheduledExecutorService feeder;
+
+    private final ThreadMXBean                 threads    = ManagementFactory.getThreadMXBean();
+    private final MemoryMXBean                 memory     = ManagementFactory.getMemoryMXBean();
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+
+    private long fxThreadId;
+    private int  frames;
+    private int  totalFrames;
+    private long lastReport;
+    private long lastFxCpu;
+    private long lastGcTime;
+    private long lastGcCount;
+    private long startTime;
+    private long startFxCpu;
+    private long startGcTime;
+    private long startGcCount;
+    private long maxHeap;
+
+    @Override
+    public void start(Stage primaryStage) {
+        Map<String, String> parameters = getParameters().getNamed();
+        int    instances = Integer.parseInt(parameters.getOrDefault("instances", String.valueOf(DEFAULT_INSTANCES)));
+        double rate      = Double.parseDouble(parameters.getOrDefault("rate", String.valueOf(DEFAULT_RATE)));
+        int    seconds   = Integer.parseInt(parameters.getOrDefault("seconds", String.valueOf(DEFAULT_SECONDS)));
+
+        TilePane grid = new TilePane();
+        grid.setPrefColumns((int) Math.ceil(Math.sqrt(instances)));
+        grid.setPrefTileWidth(60);
+        grid.setPrefTileHeight(40);
+
+        for (int i = 0; i < instances; i++) {
+            PresentationModel pm         = new PresentationModel();
+            Tachometer        tachometer = new Tachometer();
+
+            // nur Anzeige: ein Listener pro Messwert statt vier bidirektionaler Bindings
+            pm.sampleProperty().addListener((observable, oldSample, sample) -> show(tachometer, sample));
+            show(tachometer, pm.getSample());
+
+            models.add(pm);
+            grid.getChildren().add(tachometer);
+        }
+
+        park = new ParkAggregate(instances);
+
+        BorderPane root = new BorderPane(grid);
+        root.setTop(createParkHeader());
+
+        primaryStage.setTitle("Windpark Stress Test: " + instances + " Tachometer");
+        primaryStage.setScene(new Scene(root, 1600, 900));
+        primaryStage.show();
+
+        fxThreadId = Thread.currentThread().getId();
+        startMeasuring(seconds);
+        park.start();
+        startFeeding(instances, rate);
+
+        System.out.printf("%d tachometers, %.1f samples/s each, %d s%n", instances, rate, seconds);
+    }
+
+    @Override
+    public void stop() {
+        if (feeder != null) {
+            feeder.shutdownNow();
+        }
+    }
+
+    private static void show(Tachometer tachometer, TelemetrySample sample) {
+        // zuerst der Wertebereich, damit value nie ausserhalb liegt
+        tachometer.setMinValue(sample.getMin());
+        tachometer.setMaxValue(sample.getMax());
+        tachometer.setOn(sample.isRunning());
+        tachometer.setValue(sample.getValue());
+    }
+
+    /**
+     * Erzeugt die Messwerte im Hintergrund. Pro Tick gibt es hoechstens ein Platform.runLater; ist der FX-Thread
+     * mit dem vorherigen Tick noch nicht fertig, ersetzen die neuen Messwerte die alten.
+     */
+    private void startFeeding(int instances, double rate) {
+        feeder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "telemetry-feeder");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long period = Math.max(1, (long) (1_000_000_000L / rate));
+        feeder.scheduleAtFixedRate(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < instances; i++) {
+                double value = random.nextDouble(0, 40000);
+                batch.put(models.get(i), new TelemetrySample(value, true, 0, 40000));
+                park.update(i, value, true);
+            }
+            batch.flush();
+        }, 0, period, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Durchschnitt, Minimum und Maximum des Parks als Tachometer, Summe und Anzahl Turbinen als Text (der Gauge
+     * zeigt nur den Bereich einer einzelnen Turbine). Aktualisiert wird einmal pro Pulse mit dem Snapshot.
+     */
+    private HBox createParkHeader() {
+        Tachometer average = new Tachometer();
+        Tachometer min     = new Tachometer();
+        Tachometer max     = new Tachometer();
+        Label      summary = new Label();
+        for (Tachometer tachometer : new Tachometer[]{average, min, max}) {
+            tachometer.setPrefSize(120, 80);
+        }
+
+        park.snapshotProperty().addListener((observable, oldSnapshot, snapshot) -> {
+            boolean reporting = snapshot.getReporting() > 0;
+            average.setOn(snapshot.getRunning() > 0);
+            average.setValue(reporting ? snapshot.getAverage() : 0);
+            min.setValue(reporting ? snapshot.getMin() : 0);
+            max.setValue(reporting ? snapshot.getMax() : 0);
+            summary.setText(String.format("Park %,.0f | laufend %d | gestoppt %d | ohne Messwert %d",
+                                          snapshot.getOutput(),
+                                          snapshot.getRunning(),
+                                          snapshot.getStopped(),
+                                          snapshot.getTurbines() - snapshot.getReporting()));
+        });
+
+        HBox header = new HBox(10, average, min, max, summary);
+        header.setPadding(new Insets(5));
+        return header;
+    }
+
+    private void startMeasuring(int seconds) {
+        startTime    = System.nanoTime();
+        lastReport   = startTime;
+        startFxCpu   = threads.getThreadCpuTime(fxThreadId);
+        lastFxCpu    = startFxCpu;
+        startGcTime  = gcTime();
+        lastGcTime   = startGcTime;
+        startGcCount = gcCount();
+        lastGcCount  = startGcCount;
+
+        new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                frames++;
+                totalFrames++;
+                if (now - lastReport < 1_000_000_000L) {
+                    return;
+                }
+                report(now);
+                if (now - startTime >= seconds * 1_000_000_000L) {
+                    stop();
+                    summarize(now);
+                    Platform.exit();
+                }
+            }
+        }.start();
+    }
+
+    private void report(long now) {
+        double elapsed = (now - lastReport) / 1_000_000_000.0;
+        long   fxCpu   = threads.getThreadCpuTime(fxThreadId);
+        long   gcTime  = gcTime();
+        long   gcCount = gcCount();
+        long   heap    = memory.getHeapMemoryUsage().getUsed();
+        maxHeap = Math.max(maxHeap, heap);
+
+        System.out.printf("fps %5.1f | fx busy %5.1f %% | gc %3d pauses %5d ms | heap %6.1f MB | scheduler %6.3f ms/frame%n",
+                          frames / elapsed,
+                          (fxCpu - lastFxCpu) / 10_000_000.0 / elapsed,
+                          gcCount - lastGcCount,
+                          gcTime - lastGcTime,
+                          heap / 1_048_576.0,
+                          PulseScheduler.getAverageFrameNanos() / 1_000_000.0);
+
+        frames      = 0;
+        lastReport  = now;
+        lastFxCpu   = fxCpu;
+        lastGcTime  = gcTime;
+        lastGcCount = gcCount;
+    }
+
+    private void summarize(long now) {
+        double elapsed = (now - startTime) / 1_000_000_000.0;
+
+        System.out.printf("summary: fps %.1f | fx busy %.1f %% | gc %d pauses %d ms | max heap %.1f MB | coalesced samples %d | park snapshots %d%n",
+                          totalFrames / elapsed,
+                          (threads.getThreadCpuTime(fxThreadId) - startFxCpu) / 10_000_000.0 / elapsed,
+                          gcCount() - startGcCount,
+                          gcTime() - startGcTime,
+                          maxHeap / 1_048_576.0,
+                          batch.getCoalesced(),
+                          park.getSnapshots());
+    }
+
+    private long gcTime() {
+        long time = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            time += Math.max(0, collector.getCollectionTime());
+        }
+        return time;
+    }
+
+    private long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            count += Math.max(0, collector.getCollectionCount());
+        }
+        return count;
+    }
+
+    public static void main(String[] args) {
+        if (Arrays.asList(args).contains("--headless=true")) {
+            System.setProperty("glass.platform",   "Monocle");
+            System.setProperty("monocle.platform", "Headless");
+            System.setProperty("prism.order",      "sw");
+            System.setProperty("prism.text",       "t2k");
+        }
+        launch(args);
+    }
+}
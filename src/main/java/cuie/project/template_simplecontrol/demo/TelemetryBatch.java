@@ -0,0 +1,66 @@
+package cuie.project.template_simplecontrol.demo;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import javafx.application.Platform;
+
+/**
+ * Sammelt Messwerte aus beliebigen Threads und uebernimmt sie mit einem einzigen Platform.runLater pro Batch
+ * in die PresentationModels.
+ *
+ * Pro PresentationModel wird nur der neueste noch nicht uebernommene Messwert gehalten. Solange ein Batch auf
+ * den FX-Thread wartet, wird kein weiterer eingeplant; die bis dahin gelieferten Messwerte kommen mit.
+ */
+public final class TelemetryBatch {
+    private final Map<PresentationModel, TelemetrySample> pending   = new ConcurrentHashMap<>();
+    private final AtomicBoolean                           scheduled = new AtomicBoolean();
+    private final LongAdder                               coalesced = new LongAdder();
+    private final LongAdder                               batches   = new LongAdder();
+
+    /**
+     * Merkt sich den Messwert fuer pm, ersetzt einen noch nicht uebernommenen. Darf aus jedem Thread aufgerufen werden.
+     */
+    public void put(PresentationModel pm, TelemetrySample sample) {
+        if (pending.put(pm, sample) != null) {
+            coalesced.increment();
+        }
+    }
+
+    /**
+     * Plant die Uebernahme aller gesammelten Messwerte im FX-Thread ein, falls das nicht schon geschehen ist.
+     */
+    public void flush() {
+        if (!pending.isEmpty() && scheduled.compareAndSet(false, true)) {
+            Platform.runLater(this::apply);
+        }
+    }
+
+    private void apply() {
+        // vor dem Abarbeiten zuruecksetzen: was ab jetzt kommt, wird mit dem naechsten flush eingeplant
+        scheduled.set(false);
+        batches.increment();
+        for (PresentationModel pm : pending.keySet()) {
+            TelemetrySample sample = pending.remove(pm);
+            if (sample != null) {
+                pm.update(sample);
+            }
+        }
+    }
+
+    /**
+     * @return Anzahl der Messwerte, die durch einen neueren ersetzt wurden, bevor sie uebernommen waren
+     */
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    /**
+     * @return Anzahl der im FX-Thread ausgefuehrten Batches
+     */
+    public long getBatches() {
+        return batches.sum();
+    }
+}
@@ -0,0 +1,237 @@
+package cuie.project.template_simplecontrol.demo;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import javafx.animation.AnimationTimer;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.beans.property.ReadOnlyLongProperty;
+import javafx.beans.property.ReadOnlyLongWrapper;
+import javafx.beans.property.SimpleDoubleProperty;
+
+import cuie.project.template_simplecontrol.telemetry.TelemetryLog;
+
+/**
+ * Spielt ein aufgezeichnetes {@link TelemetryLog} ueber die PresentationModels ab, mit 1- bis 500-facher
+ * Geschwindigkeit.
+ *
+ * Pro Frame wird die Replay-Zeit um die vergangene Zeit mal {@link #speedProperty()} weitergeschoben und alle
+ * Records bis dahin werden in Zeit-Reihenfolge gelesen. Pro Turbine wird davon wie bei {@link TelemetryBatch}
+ * nur der neueste Messwert uebernommen, in der Reihenfolge, in der die Turbinen im Frame zum ersten Mal
+ * vorkommen. Das PresentationModel mit Index i erhaelt die Messwerte der Turbine i; Turbinen ohne
+ * PresentationModel werden uebersprungen.
+ *
+ * Wird im FX-Thread verwendet; die Messwerte duerfen aus jedem Thread gelesen werden.
+ */
+public final class TelemetryReplay {
+    public static final double MIN_SPEED = 1;
+    public static final double MAX_SPEED = 500;
+
+    // nach einem Sprung werden die Messwerte dieser Zeitspanne davor uebernommen, damit alle Turbinen stimmen
+    private static final long SEEK_WARMUP_MILLIS = 60_000;
+
+    private final TelemetryLog            log;
+    private final List<PresentationModel> turbines;
+
+    private final DoubleProperty         speed    = new SimpleDoubleProperty(MIN_SPEED);
+    private final ReadOnlyLongWrapper    position = new ReadOnlyLongWrapper();
+    private final ReadOnlyBooleanWrapper playing  = new ReadOnlyBooleanWrapper();
+
+    // neuester Messwert pro Turbine im aktuellen Frame
+    private final double[]  values;
+    private final boolean[] running;
+    private final boolean[] touched;
+    private final int[]     touchedOrder;
+    private int             touchedCount;
+
+    private final LongAdder  samples       = new LongAdder();
+    private final LongAdder  frames        = new LongAdder();
+    private final AtomicLong lastSeekNanos = new AtomicLong();
+    private final AtomicLong maxSeekNanos  = new AtomicLong();
+
+    private AnimationTimer timer;
+
+    private long   cursor;
+    private double replayTime;
+    private long   lastNow;
+
+    public TelemetryReplay(TelemetryLog log, List<PresentationModel> turbines) {
+        this.log      = log;
+        this.turbines = turbines;
+
+        values       = new double[turbines.size()];
+        running      = new boolean[turbines.size()];
+        touched      = new boolean[turbines.size()];
+        touchedOrder = new int[turbines.size()];
+
+        replayTime = log.getStartTime();
+        position.set(log.getStartTime());
+    }
+
+    public void play() {
+        if (cursor >= log.size()) {
+            return;
+        }
+        if (timer == null) {
+            timer = new AnimationTimer() {
+                @Override
+                public void handle(long now) {
+                    nextFrame(now);
+                }
+            };
+        }
+        lastNow = 0;
+        playing.set(true);
+        timer.start();
+    }
+
+    public void pause() {
+        if (timer != null) {
+            timer.stop();
+        }
+        playing.set(false);
+    }
+
+    /**
+     * Springt zum Zeitpunkt time, vor- oder rueckwaerts. Alle Turbinen zeigen danach ihren letzten Messwert bis
+     * time, sofern er nicht laenger als eine Minute zurueckliegt. Nadeln und Schalter springen dabei ohne Animation,
+     * sofern animated der Tachometer an das ihrer PresentationModels gebunden ist (wie im DemoPane).
+     */
+    public void seek(long time) {
+        long start = System.nanoTime();
+
+        cursor     = log.indexOf(time - SEEK_WARMUP_MILLIS);
+        replayTime = time;
+        advanceTo(time, false);
+
+        long duration = System.nanoTime() - start;
+        lastSeekNanos.set(duration);
+        maxSeekNanos.accumulateAndGet(duration, Math::max);
+    }
+
+    /**
+     * Uebernimmt alle Messwerte bis und mit Zeitpunkt time als einen Batch. Die Tachometer animieren dabei wie
+     * bei jedem anderen Update ihrer PresentationModels, sofern deren animated eingeschaltet ist.
+     */
+    public void advanceTo(long time) {
+        advanceTo(time, true);
+    }
+
+    /**
+     * @param animated false, um animated der betroffenen PresentationModels fuer diesen Batch auszuschalten, z.B.
+     *                 nach einem Sprung, bei dem sonst alle Nadeln und Schalter gleichzeitig animieren
+     */
+    private void advanceTo(long time, boolean animated) {
+        long count = 0;
+        while (cursor < log.size() && log.getTime(cursor) <= time) {
+            int turbine = log.getTurbine(cursor);
+            if (turbine < values.length) {
+                if (!touched[turbine]) {
+                    touched[turbine] = true;
+                    touchedOrder[touchedCount++] = turbine;
+                }
+                values[turbine]  = log.getValue(cursor);
+                running[turbine] = log.isRunning(cursor);
+            }
+            cursor++;
+            count++;
+        }
+        samples.add(count);
+        replayTime = Math.max(replayTime, time);
+        position.set((long) replayTime);
+
+        for (int i = 0; i < touchedCount; i++) {
+            int               turbine = touchedOrder[i];
+            PresentationModel pm      = turbines.get(turbine);
+            touched[turbine] = false;
+            TelemetrySample   sample  = new TelemetrySample(values[turbine], running[turbine], pm.getMin(), pm.getMax());
+            if (animated || !pm.isAnimated()) {
+                pm.update(sample);
+            } else {
+                pm.setAnimated(false);
+                pm.update(sample);
+                pm.setAnimated(true);
+            }
+        }
+        touchedCount = 0;
+    }
+
+    private void nextFrame(long now) {
+        if (lastNow != 0) {
+            double speed = Math.max(MIN_SPEED, Math.min(MAX_SPEED, getSpeed()));
+            replayTime += (now - lastNow) / 1_000_000.0 * speed;
+        }
+        lastNow = now;
+        frames.increment();
+
+        advanceTo((long) replayTime);
+        if (cursor >= log.size()) {
+            pause();
+        }
+    }
+
+    /**
+     * @return Anzahl gelesener Records
+     */
+    public long getSamples() {
+        return samples.sum();
+    }
+
+    /**
+     * @return Anzahl abgespielter Frames
+     */
+    public long getFrames() {
+        return frames.sum();
+    }
+
+    /**
+     * @return Dauer des letzten {@link #seek(long)} in Nanosekunden
+     */
+    public long getLastSeekNanos() {
+        return lastSeekNanos.get();
+    }
+
+    /**
+     * @return Dauer des laengsten {@link #seek(long)} in Nanosekunden
+     */
+    public long getMaxSeekNanos() {
+        return maxSeekNanos.get();
+    }
+
+    public double getSpeed() {
+        return speed.get();
+    }
+
+    /**
+     * Vielfaches der Echtzeit, Werte ausserhalb von {@link #MIN_SPEED} bis {@link #MAX_SPEED} werden begrenzt.
+     */
+    public DoubleProperty speedProperty() {
+        return speed;
+    }
+
+    public void setSpeed(double speed) {
+        this.speed.set(speed);
+    }
+
+    /**
+     * @return Replay-Zeit in Millisekunden, bis zu der alle Messwerte uebernommen sind
+     */
+    public long getPosition() {
+        return position.get();
+    }
+
+    public ReadOnlyLongProperty positionProperty() {
+        return position.getReadOnlyProperty();
+    }
+
+    public boolean isPlaying() {
+        return playing.get();
+    }
+
+    public ReadOnlyBooleanProperty playingProperty() {
+        return playing.getReadOnlyProperty();
+    }
+}
@@ -0,0 +1,35 @@
+package cuie.project.template_simplecontrol.demo;
+
+/**
+ * Unveraenderlicher Messwert einer Turbine, wird mit {@link PresentationModel#update(TelemetrySample)} als
+ * Ganzes uebernommen.
+ */
+public final class TelemetrySample {
+    private final double  value;
+    private final boolean running;
+    private final double  min;
+    private final double  max;
+
+    public TelemetrySample(double value, boolean running, double min, double max) {
+        this.value   = value;
+        this.running = running;
+        this.min     = min;
+        this.max     = max;
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+}
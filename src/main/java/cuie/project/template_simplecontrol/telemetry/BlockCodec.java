@@ -0,0 +1,171 @@
+package cuie.project.template_simplecontrol.telemetry;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Kodiert Bloecke von Messwerten fuer {@link TelemetryRecorder} und {@link TelemetryRecording}.
+ *
+ * Ein Block besteht aus einem Header ({@link #BLOCK_HEADER_BYTES} Bytes: Anzahl Messwerte, Laenge unkomprimiert,
+ * Laenge komprimiert, CRC32 der komprimierten Daten, Zeitpunkt des ersten Messwerts) und den mit Deflate
+ * komprimierten Messwerten. Jeder Messwert wird vor dem Komprimieren als Varints gespeichert:
+ * <pre>
+ *   Zeitpunkt  Differenz zum vorherigen Messwert, ZigZag-kodiert
+ *   Turbine    Differenz zur vorherigen Turbine, ZigZag-kodiert, um ein Bit verschoben, Bit 0: laeuft
+ *   Wert       Bits des float XOR Bits des vorherigen Werts derselben Turbine
+ * </pre>
+ * Aehnliche Werte unterscheiden sich nur in den unteren Bits der Mantisse, das XOR wird damit klein. Jeder Block
+ * ist fuer sich dekodierbar. Nicht thread-safe, jeder Thread braucht seinen eigenen BlockCodec.
+ */
+final class BlockCodec {
+    static final int BLOCK_HEADER_BYTES = 4 + 4 + 4 + 4 + 8;
+
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+    private final Inflater inflater = new Inflater(true);
+    private final CRC32    crc      = new CRC32();
+
+    private byte[] raw        = new byte[64 * 1024];
+    private byte[] compressed = new byte[64 * 1024];
+    private int[]  lastBits   = new int[64];
+    private int    position;
+
+    /**
+     * Kodiert count Messwerte als einen Block.
+     *
+     * @return Block inklusive Header, gueltig bis zum naechsten Aufruf
+     */
+    ByteBuffer encode(long[] times, int[] turbines, float[] values, int count) {
+        position = 0;
+        Arrays.fill(lastBits, 0);
+
+        long lastTime    = times[0];
+        int  lastTurbine = 0;
+        for (int i = 0; i < count; i++) {
+            int turbine = turbines[i] & ~TelemetryLog.RUNNING_FLAG;
+            int running = (turbines[i] & TelemetryLog.RUNNING_FLAG) != 0 ? 1 : 0;
+            int bits    = Float.floatToIntBits(values[i]);
+            if (turbine >= lastBits.length) {
+                lastBits = Arrays.copyOf(lastBits, Math.max(turbine + 1, lastBits.length * 2));
+            }
+
+            writeVarLong(zigZag(times[i] - lastTime));
+            writeVarLong(zigZag((long) turbine - lastTurbine) << 1 | running);
+            writeVarLong((bits ^ lastBits[turbine]) & 0xFFFF_FFFFL);
+
+            lastTime          = times[i];
+            lastTurbine       = turbine;
+            lastBits[turbine] = bits;
+        }
+
+        deflater.reset();
+        deflater.setInput(raw, 0, position);
+        deflater.finish();
+        int length = 0;
+        while (!deflater.finished()) {
+            if (length == compressed.length) {
+                compressed = Arrays.copyOf(compressed, compressed.length * 2);
+            }
+            length += deflater.deflate(compressed, length, compressed.length - length);
+        }
+        crc.reset();
+        crc.update(compressed, 0, length);
+
+        ByteBuffer block = ByteBuffer.allocate(BLOCK_HEADER_BYTES + length);
+        block.putInt(count)
+             .putInt(position)
+             .putInt(length)
+             .putInt((int) crc.getValue())
+             .putLong(times[0])
+             .put(compressed, 0, length)
+             .flip();
+        return block;
+    }
+
+    /**
+     * Dekodiert die Messwerte eines Blocks und gibt sie an consumer weiter.
+     *
+     * @param header die ersten {@link #BLOCK_HEADER_BYTES} Bytes des Blocks
+     * @param data die komprimierten Daten, Laenge gemaess Header
+     * @throws IOException falls der Block beschaedigt ist oder consumer eine IOException wirft
+     */
+    void decode(ByteBuffer header, byte[] data, SampleConsumer consumer) throws IOException {
+        int  count     = header.getInt(0);
+        int  rawLength = header.getInt(4);
+        int  length    = header.getInt(8);
+        long lastTime  = header.getLong(16);
+
+        crc.reset();
+        crc.update(data, 0, length);
+        if ((int) crc.getValue() != header.getInt(12)) {
+            throw new IOException("corrupt block, checksum mismatch");
+        }
+
+        if (raw.length < rawLength) {
+            raw = new byte[rawLength];
+        }
+        inflater.reset();
+        inflater.setInput(data, 0, length);
+        try {
+            if (inflater.inflate(raw, 0, rawLength) != rawLength) {
+                throw new IOException("corrupt block, unexpected length");
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("corrupt block", e);
+        }
+
+        position = 0;
+        Arrays.fill(lastBits, 0);
+        int lastTurbine = 0;
+        for (int i = 0; i < count; i++) {
+            long time    = lastTime + unZigZag(readVarLong());
+            long word    = readVarLong();
+            int  turbine = (int) (lastTurbine + unZigZag(word >>> 1));
+            if (turbine >= lastBits.length) {
+                lastBits = Arrays.copyOf(lastBits, Math.max(turbine + 1, lastBits.length * 2));
+            }
+            int bits = (int) readVarLong() ^ lastBits[turbine];
+
+            consumer.accept(time, turbine, Float.intBitsToFloat(bits), (word & 1) != 0);
+
+            lastTime          = time;
+            lastTurbine       = turbine;
+            lastBits[turbine] = bits;
+        }
+    }
+
+    private void writeVarLong(long value) {
+        if (position + 10 > raw.length) {
+            raw = Arrays.copyOf(raw, raw.length * 2);
+        }
+        while ((value & ~0x7FL) != 0) {
+            raw[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        raw[position++] = (byte) value;
+    }
+
+    private long readVarLong() {
+        long value = 0;
+        int  shift = 0;
+        byte b;
+        do {
+            b = raw[position++];
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,11 @@
+package cuie.project.template_simplecontrol.telemetry;
+
+import java.io.IOException;
+
+/**
+ * Empfaengt gelesene Messwerte, z.B. {@code writer::append} eines {@link TelemetryLogWriter}.
+ */
+@FunctionalInterface
+public interface SampleConsumer {
+    void accept(long time, int turbine, double value, boolean running) throws IOException;
+}
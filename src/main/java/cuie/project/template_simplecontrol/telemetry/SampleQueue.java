@@ -0,0 +1,85 @@
+package cuie.project.template_simplecontrol.telemetry;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-freie Queue fuer Messwerte mit genau einem Produzenten (dem FX-Thread) und einem Konsumenten (dem
+ * Writer-Thread), als Ring aus primitiven Arrays: pro Messwert wird nichts alloziert.
+ *
+ * head und tail werden nur von jeweils einem Thread geschrieben; mit lazySet werden die Messwerte vor dem neuen
+ * tail bzw. die freien Plaetze vor dem neuen head sichtbar. Ist die Queue voll, wird der Messwert verworfen,
+ * der Produzent wartet nie.
+ */
+final class SampleQueue {
+    private final int     capacity;
+    private final int     mask;
+    private final long[]  times;
+    private final int[]   turbines;
+    private final float[] values;
+
+    // naechster zu lesender Platz, nur vom Konsumenten geschrieben
+    private final AtomicLong head = new AtomicLong();
+    // naechster zu schreibender Platz, nur vom Produzenten geschrieben
+    private final AtomicLong tail = new AtomicLong();
+
+    // letzter vom Produzenten gesehener head, erspart das Lesen des volatile head bei jedem offer
+    private long knownHead;
+
+    /**
+     * @param capacity muss eine Zweierpotenz sein
+     */
+    SampleQueue(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two");
+        }
+        this.capacity = capacity;
+        mask     = capacity - 1;
+        times    = new long[capacity];
+        turbines = new int[capacity];
+        values   = new float[capacity];
+    }
+
+    /**
+     * Nur vom Produzenten aufrufen.
+     *
+     * @param turbine Nummer der Turbine inklusive {@link TelemetryLog#RUNNING_FLAG}
+     * @return false, falls die Queue voll ist
+     */
+    boolean offer(long time, int turbine, float value) {
+        long next = tail.get();
+        if (next - knownHead == capacity) {
+            knownHead = head.get();
+            if (next - knownHead == capacity) {
+                return false;
+            }
+        }
+        int slot = (int) next & mask;
+        times[slot]    = time;
+        turbines[slot] = turbine;
+        values[slot]   = value;
+        tail.lazySet(next + 1);
+        return true;
+    }
+
+    /**
+     * Nur vom Konsumenten aufrufen. Kopiert hoechstens max Messwerte ab offset in die Arrays.
+     *
+     * @return Anzahl kopierter Messwerte
+     */
+    int poll(long[] times, int[] turbines, float[] values, int offset, int max) {
+        long first = head.get();
+        int  count = (int) Math.min(max, tail.get() - first);
+        for (int i = 0; i < count; i++) {
+            int slot = (int) (first + i) & mask;
+            times[offset + i]    = this.times[slot];
+            turbines[offset + i] = this.turbines[slot];
+            values[offset + i]   = this.values[slot];
+        }
+        head.lazySet(first + count);
+        return count;
+    }
+
+    boolean isEmpty() {
+        return head.get() == tail.get();
+    }
+}
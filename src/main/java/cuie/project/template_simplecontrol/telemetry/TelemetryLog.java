@@ -0,0 +1,227 @@
+package cuie.project.template_simplecontrol.telemetry;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Aufgezeichnete Messwerte eines Windparks, gelesen direkt aus einer per NIO gemappten Datei.
+ *
+ * Format: ein Header mit {@link #HEADER_BYTES} Bytes, danach Records mit je {@link #RECORD_BYTES} Bytes, nach
+ * Zeit aufsteigend sortiert:
+ * <pre>
+ *   long  time     Zeitpunkt in Millisekunden
+ *   int   turbine  Nummer der Turbine, das oberste Bit ist gesetzt, wenn die Turbine laeuft
+ *   float value    Messwert
+ * </pre>
+ * Geschrieben wird mit {@link TelemetryLogWriter}.
+ *
+ * Die Datei wird in Segmenten von hoechstens 1 GB gemappt (ein MappedByteBuffer kann nicht mehr als 2 GB
+ * adressieren); gelesen wird mit absoluten get-Aufrufen, es wird nichts kopiert. Fuer die Suche nach einem
+ * Zeitpunkt wird beim Oeffnen ein duenner Index mit dem Zeitpunkt jedes {@link #INDEX_STRIDE}. Records aufgebaut,
+ * bei einem 4 GB-Log sind das 512 KB.
+ *
+ * Ein unvollstaendiger letzter Record (z.B. nach einem Absturz waehrend der Aufzeichnung) wird ignoriert.
+ * Die Lese-Methoden duerfen aus mehreren Threads gleichzeitig aufgerufen werden.
+ */
+public final class TelemetryLog implements Closeable {
+    public static final int RECORD_BYTES = 16;
+    public static final int HEADER_BYTES = 16;
+
+    public static final int INDEX_STRIDE = 4096;
+
+    static final int MAGIC   = 0x544C4F47; // "TLOG"
+    static final int VERSION = 1;
+
+    static final int RUNNING_FLAG = 0x8000_0000;
+
+    // 2^26 Records = 1 GB pro Segment
+    private static final int SEGMENT_RECORDS = 1 << 26;
+
+    private static final int TIME_OFFSET    = 0;
+    private static final int TURBINE_OFFSET = 8;
+    private static final int VALUE_OFFSET   = 12;
+
+    private final Path        file;
+    private final FileChannel channel;
+
+    private final MappedByteBuffer[] segments;
+    private final int                segmentShift;
+    private final long               segmentMask;
+
+    private final long size;
+
+    private final long[] index;
+    private final int    indexShift;
+
+    /**
+     * Oeffnet ein mit {@link TelemetryLogWriter} geschriebenes Log.
+     *
+     * @throws IOException falls die Datei nicht gelesen werden kann oder kein Telemetrie-Log ist
+     */
+    public static TelemetryLog open(Path file) throws IOException {
+        return new TelemetryLog(file, SEGMENT_RECORDS, INDEX_STRIDE);
+    }
+
+    /**
+     * Fuer Tests mit kleinen Segmenten; beide Groessen muessen Zweierpotenzen sein.
+     */
+    static TelemetryLog open(Path file, int segmentRecords, int indexStride) throws IOException {
+        return new TelemetryLog(file, segmentRecords, indexStride);
+    }
+
+    private TelemetryLog(Path file, int segmentRecords, int indexStride) throws IOException {
+        if (Integer.bitCount(segmentRecords) != 1 || Integer.bitCount(indexStride) != 1) {
+            throw new IllegalArgumentException("segmentRecords and indexStride must be powers of two");
+        }
+        this.file = file;
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            readHeader();
+
+            size         = (channel.size() - HEADER_BYTES) / RECORD_BYTES;
+            segmentShift = Integer.numberOfTrailingZeros(segmentRecords);
+            segmentMask  = segmentRecords - 1;
+
+            int segmentCount = (int) ((size + segmentRecords - 1) >>> segmentShift);
+            segments = new MappedByteBuffer[segmentCount];
+            for (int i = 0; i < segmentCount; i++) {
+                long first   = (long) i << segmentShift;
+                long records = Math.min(segmentRecords, size - first);
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                                          HEADER_BYTES + first * RECORD_BYTES,
+                                          records * RECORD_BYTES);
+            }
+
+            indexShift = Integer.numberOfTrailingZeros(indexStride);
+            index      = buildIndex();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void readHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0) {
+                break;
+            }
+        }
+        if (header.hasRemaining() || header.getInt(0) != MAGIC) {
+            throw new IOException("not a telemetry log: " + file);
+        }
+        if (header.getInt(4) != VERSION) {
+            throw new IOException("unsupported telemetry log version " + header.getInt(4) + ": " + file);
+        }
+    }
+
+    private long[] buildIndex() {
+        // jeder INDEX_STRIDE. Record, also nur eine Page von vielen
+        long[] index = new long[(int) ((size + (1L << indexShift) - 1) >>> indexShift)];
+        for (int i = 0; i < index.length; i++) {
+            index[i] = getTime((long) i << indexShift);
+        }
+        return index;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * @return Anzahl Records
+     */
+    public long size() {
+        return size;
+    }
+
+    public long getTime(long record) {
+        return segment(record).getLong(offset(record) + TIME_OFFSET);
+    }
+
+    public int getTurbine(long record) {
+        return segment(record).getInt(offset(record) + TURBINE_OFFSET) & ~RUNNING_FLAG;
+    }
+
+    public boolean isRunning(long record) {
+        return (segment(record).getInt(offset(record) + TURBINE_OFFSET) & RUNNING_FLAG) != 0;
+    }
+
+    public double getValue(long record) {
+        return segment(record).getFloat(offset(record) + VALUE_OFFSET);
+    }
+
+    /**
+     * @return Zeitpunkt des ersten Records, 0 falls das Log leer ist
+     */
+    public long getStartTime() {
+        return size == 0 ? 0 : getTime(0);
+    }
+
+    /**
+     * @return Zeitpunkt des letzten Records, 0 falls das Log leer ist
+     */
+    public long getEndTime() {
+        return size == 0 ? 0 : getTime(size - 1);
+    }
+
+    /**
+     * Sucht zuerst im duennen Index den Block, in dem time liegt, und danach binaer innerhalb des Blocks; es
+     * werden also nur wenige Pages der Datei angefasst.
+     *
+     * @return Nummer des ersten Records mit einem Zeitpunkt &gt;= time, size(), falls es keinen solchen gibt
+     */
+    public long indexOf(long time) {
+        // erster Block, dessen erster Record nicht vor time liegt
+        int low  = 0;
+        int high = index.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (index[middle] < time) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        if (low == 0) {
+            return 0;
+        }
+
+        // der gesuchte Record liegt im Block davor oder ist der erste Record von Block low
+        long first = (long) (low - 1) << indexShift;
+        long last  = Math.min(size, (long) low << indexShift);
+        while (first < last) {
+            long middle = (first + last) >>> 1;
+            if (getTime(middle) < time) {
+                first = middle + 1;
+            } else {
+                last = middle;
+            }
+        }
+        return first;
+    }
+
+    /**
+     * Schliesst die Datei. Die gemappten Segmente werden erst vom Garbage Collector freigegeben.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private MappedByteBuffer segment(long record) {
+        if (record < 0 || record >= size) {
+            throw new IndexOutOfBoundsException("record " + record + ", size " + size);
+        }
+        return segments[(int) (record >>> segmentShift)];
+    }
+
+    private int offset(long record) {
+        return (int) (record & segmentMask) * RECORD_BYTES;
+    }
+}
@@ -0,0 +1,81 @@
+package cuie.project.template_simplecontrol.telemetry;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Schreibt Messwerte im Format von {@link TelemetryLog}. Eine bestehende Datei wird ueberschrieben.
+ *
+ * Die Records werden in einem Buffer gesammelt und in Bloecken von 64 KB geschrieben. Nicht thread-safe.
+ */
+public final class TelemetryLogWriter implements Closeable {
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final FileChannel channel;
+    private final ByteBuffer  buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+
+    private long records;
+    private long lastTime = Long.MIN_VALUE;
+
+    public TelemetryLogWriter(Path file) throws IOException {
+        channel = FileChannel.open(file,
+                                   StandardOpenOption.CREATE,
+                                   StandardOpenOption.TRUNCATE_EXISTING,
+                                   StandardOpenOption.WRITE);
+        buffer.putInt(TelemetryLog.MAGIC)
+              .putInt(TelemetryLog.VERSION)
+              .putLong(0);
+    }
+
+    /**
+     * @param time Zeitpunkt in Millisekunden, darf nicht vor dem des vorherigen Records liegen
+     * @param turbine Nummer der Turbine, 0 bis Integer.MAX_VALUE
+     */
+    public void append(long time, int turbine, double value, boolean running) throws IOException {
+        if (time < lastTime) {
+            throw new IllegalArgumentException("records must be appended in time order");
+        }
+        if (turbine < 0) {
+            throw new IllegalArgumentException("turbine must not be negative");
+        }
+        if (buffer.remaining() < TelemetryLog.RECORD_BYTES) {
+            flush();
+        }
+        buffer.putLong(time)
+              .putInt(running ? turbine | TelemetryLog.RUNNING_FLAG : turbine)
+              .putFloat((float) value);
+        lastTime = time;
+        records++;
+    }
+
+    /**
+     * @return Anzahl geschriebener Records
+     */
+    public long getRecords() {
+        return records;
+    }
+
+    /**
+     * Schreibt die gesammelten Records in die Datei.
+     */
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package cuie.project.template_simplecontrol.telemetry;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import javafx.beans.InvalidationListener;
+
+import cuie.project.template_simplecontrol.Tachometer;
+
+/**
+ * Zeichnet value und on von Tachometern auf, ohne dass der FX-Thread je auf die Platte wartet.
+ *
+ * Der FX-Thread legt jeden Messwert nur in eine {@link SampleQueue}; ist sie voll, wird der Messwert verworfen
+ * und gezaehlt. Ein eigener Writer-Thread sammelt die Messwerte in Bloecken von {@link #BLOCK_SAMPLES}, kodiert
+ * und komprimiert sie (siehe {@link BlockCodec}) und schreibt sie. Auf die Platte gezwungen (force) wird nicht
+ * pro Block, sondern hoechstens alle {@link #COMMIT_INTERVAL_MILLIS} Millisekunden fuer alle seither
+ * geschriebenen Bloecke gemeinsam (Group Commit). Bei einem Absturz fehlen also hoechstens die Messwerte des
+ * letzten Intervalls.
+ *
+ * attach, detach und record werden im FX-Thread aufgerufen; die Messwerte duerfen aus jedem Thread gelesen
+ * werden. Gelesen wird die Aufzeichnung mit {@link TelemetryRecording}.
+ */
+public final class TelemetryRecorder implements Closeable {
+    public static final int  QUEUE_CAPACITY         = 1 << 16;
+    public static final int  BLOCK_SAMPLES          = 4096;
+    public static final long COMMIT_INTERVAL_MILLIS = 250;
+
+    // so lange wartet der Writer, wenn die Queue leer ist
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+
+    private final SampleQueue queue = new SampleQueue(QUEUE_CAPACITY);
+    private final FileChannel channel;
+    private final Thread      writer;
+
+    private final Map<Tachometer, InvalidationListener> taps = new IdentityHashMap<>();
+
+    private final LongAdder  recorded     = new LongAdder();
+    private final LongAdder  dropped      = new LongAdder();
+    private final LongAdder  blocks       = new LongAdder();
+    private final LongAdder  commits      = new LongAdder();
+    private final AtomicLong bytesWritten = new AtomicLong();
+
+    // nur vom Writer-Thread verwendet
+    private final BlockCodec codec    = new BlockCodec();
+    private final long[]     times    = new long[BLOCK_SAMPLES];
+    private final int[]      turbines = new int[BLOCK_SAMPLES];
+    private final float[]    values   = new float[BLOCK_SAMPLES];
+    private int              count;
+    private boolean          uncommitted;
+    private long             lastCommit;
+
+    private volatile boolean     closed;
+    private volatile IOException failure;
+
+    /**
+     * Legt die Datei neu an (eine bestehende wird ueberschrieben) und startet den Writer-Thread.
+     */
+    public TelemetryRecorder(Path file) throws IOException {
+        channel = FileChannel.open(file,
+                                   StandardOpenOption.CREATE,
+                                   StandardOpenOption.TRUNCATE_EXISTING,
+                                   StandardOpenOption.WRITE);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(TelemetryRecording.HEADER_BYTES);
+            header.putInt(TelemetryRecording.MAGIC)
+                  .putInt(TelemetryRecording.VERSION)
+                  .flip();
+            write(header);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+
+        writer = new Thread(this::writeLoop, "telemetry-recorder");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Zeichnet ab sofort jede Aenderung von value und on des Tachometers als Messwert der Turbine auf, beginnend
+     * mit dem aktuellen Zustand.
+     */
+    public void attach(Tachometer tachometer, int turbine) {
+        detach(tachometer);
+        InvalidationListener tap = observable -> record(turbine, tachometer.getValue(), tachometer.isOn());
+        tachometer.valueProperty().addListener(tap);
+        tachometer.onProperty().addListener(tap);
+        taps.put(tachometer, tap);
+        record(turbine, tachometer.getValue(), tachometer.isOn());
+    }
+
+    public void detach(Tachometer tachometer) {
+        InvalidationListener tap = taps.remove(tachometer);
+        if (tap != null) {
+            tachometer.valueProperty().removeListener(tap);
+            tachometer.onProperty().removeListener(tap);
+        }
+    }
+
+    /**
+     * Uebergibt einen Messwert an den Writer-Thread. Blockiert nie; immer aus demselben Thread aufrufen.
+     *
+     * @return false, falls der Messwert verworfen wurde, weil der Writer nicht nachkommt oder der Recorder
+     *         geschlossen ist
+     */
+    public boolean record(int turbine, double value, boolean running) {
+        if (closed || turbine < 0
+            || !queue.offer(System.currentTimeMillis(), running ? turbine | TelemetryLog.RUNNING_FLAG : turbine, (float) value)) {
+            dropped.increment();
+            return false;
+        }
+        recorded.increment();
+        return true;
+    }
+
+    private void writeLoop() {
+        lastCommit = System.nanoTime();
+        try {
+            while (!closed || !queue.isEmpty()) {
+                int polled = queue.poll(times, turbines, values, count, BLOCK_SAMPLES - count);
+                count += polled;
+                if (count == BLOCK_SAMPLES) {
+                    writeBlock();
+                }
+                if (System.nanoTime() - lastCommit >= TimeUnit.MILLISECONDS.toNanos(COMMIT_INTERVAL_MILLIS)) {
+                    commit();
+                }
+                if (polled == 0 && !closed) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+            }
+            commit();
+        } catch (IOException e) {
+            failure = e;
+            closed  = true;
+        }
+    }
+
+    private void writeBlock() throws IOException {
+        write(codec.encode(times, turbines, values, count));
+        blocks.increment();
+        count       = 0;
+        uncommitted = true;
+    }
+
+    private void commit() throws IOException {
+        // ein angefangener Block wird mit dem Commit geschrieben, damit er nicht laenger als ein Intervall wartet
+        if (count > 0) {
+            writeBlock();
+        }
+        if (uncommitted) {
+            channel.force(false);
+            commits.increment();
+            uncommitted = false;
+        }
+        lastCommit = System.nanoTime();
+    }
+
+    private void write(ByteBuffer buffer) throws IOException {
+        int bytes = buffer.remaining();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        bytesWritten.addAndGet(bytes);
+    }
+
+    /**
+     * Loest alle Tachometer, schreibt die restlichen Messwerte und schliesst die Datei. Im FX-Thread aufrufen.
+     *
+     * @throws IOException falls der Writer-Thread nicht schreiben konnte; die Aufzeichnung endet dann mit dem
+     *                     letzten erfolgreichen Commit
+     */
+    @Override
+    public void close() throws IOException {
+        for (Tachometer tachometer : taps.keySet().toArray(new Tachometer[0])) {
+            detach(tachometer);
+        }
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            channel.close();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * @return Anzahl an den Writer-Thread uebergebener Messwerte
+     */
+    public long getRecorded() {
+        return recorded.sum();
+    }
+
+    /**
+     * @return Anzahl verworfener Messwerte, weil die Queue voll oder der Recorder geschlossen war
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * @return Anzahl geschriebener Bloecke
+     */
+    public long getBlocks() {
+        return blocks.sum();
+    }
+
+    /**
+     * @return Anzahl Group Commits
+     */
+    public long getCommits() {
+        return commits.sum();
+    }
+
+    /**
+     * @return Groesse der Aufzeichnung in Bytes
+     */
+    public long getBytesWritten() {
+        return bytesWritten.get();
+    }
+}
@@ -0,0 +1,76 @@
+package cuie.project.template_simplecontrol.telemetry;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Liest eine mit {@link TelemetryRecorder} geschriebene Aufzeichnung.
+ *
+ * Aufbau: ein Header mit {@link #HEADER_BYTES} Bytes, danach Bloecke, wie sie {@link BlockCodec} beschreibt.
+ * Ein unvollstaendiger letzter Block (die Aufzeichnung wurde nach dem letzten Group Commit abgebrochen) wird
+ * ignoriert.
+ *
+ * Eine Aufzeichnung ist kompakt, aber nicht fuer wahlfreien Zugriff gedacht; fuer das Abspielen wird sie z.B. mit
+ * {@code TelemetryRecording.read(recording, writer::append)} in ein {@link TelemetryLog} umgeschrieben.
+ */
+public final class TelemetryRecording {
+    public static final int HEADER_BYTES = 8;
+
+    static final int MAGIC   = 0x54524543; // "TREC"
+    static final int VERSION = 1;
+
+    private TelemetryRecording() {
+    }
+
+    /**
+     * Gibt alle Messwerte der Aufzeichnung in der aufgezeichneten Reihenfolge an consumer weiter.
+     *
+     * @return Anzahl gelesener Messwerte
+     * @throws IOException falls die Datei nicht gelesen werden kann, keine Aufzeichnung ist oder ein Block
+     *                     beschaedigt ist
+     */
+    public static long read(Path file, SampleConsumer consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            if (!readFully(channel, header) || header.getInt(0) != MAGIC) {
+                throw new IOException("not a telemetry recording: " + file);
+            }
+            if (header.getInt(4) != VERSION) {
+                throw new IOException("unsupported telemetry recording version " + header.getInt(4) + ": " + file);
+            }
+
+            BlockCodec codec       = new BlockCodec();
+            ByteBuffer blockHeader = ByteBuffer.allocate(BlockCodec.BLOCK_HEADER_BYTES);
+            byte[]     data        = new byte[0];
+            long       samples     = 0;
+            while (true) {
+                blockHeader.clear();
+                if (!readFully(channel, blockHeader)) {
+                    return samples;
+                }
+                int length = blockHeader.getInt(8);
+                if (data.length < length) {
+                    data = new byte[length];
+                }
+                if (!readFully(channel, ByteBuffer.wrap(data, 0, length))) {
+                    return samples;
+                }
+                codec.decode(blockHeader, data, consumer);
+                samples += blockHeader.getInt(0);
+            }
+        }
+    }
+
+    // false, falls die Datei vorher zu Ende ist
+    private static boolean readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,117 @@
+package cuie.project.common;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.List;
+
+import javax.management.ObjectName;
+
+import com.sun.management.ThreadMXBean;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ControlMetricsTest {
+    // Budget ausgeschaltet: kein System.nanoTime() und kein einziges Objekt pro Aufruf. Die paar Bytes erlauben
+    // nur, was getThreadAllocatedBytes selbst allenfalls anlegt, unabhaengig von der Anzahl Aufrufe
+    private static final int  CALLS                    = 1_000_000;
+    private static final long DISABLED_ALLOCATED_BYTES = 1024;
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    void disable() {
+        ControlMetrics.setEnabled(false);
+        ControlMetrics.reset();
+    }
+
+    @Test
+    void testOverheadWhenDisabled() {
+        //given
+        ControlMetrics.setEnabled(false);
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long         thread  = Thread.currentThread().getId();
+        measure(CALLS);
+
+        //when
+        long before = threads.getThreadAllocatedBytes(thread);
+        long begins = measure(CALLS);
+        long after  = threads.getThreadAllocatedBytes(thread);
+
+        //then
+        assertEquals(0, begins, "begin() hat nie System.nanoTime() aufgerufen");
+        assertTrue(after - before < DISABLED_ALLOCATED_BYTES, (after - before) + " bytes allocated");
+        assertEquals(0, ControlMetrics.getValueUpdates());
+    }
+
+    @Test
+    void testCountersAndMBean() throws Exception {
+        //given
+        ControlMetrics.setEnabled(true);
+
+        //when
+        ControlMetrics.tachometerTransition(true);
+        ControlMetrics.tachometerResized(ControlMetrics.begin(), 300, 200);
+        ControlMetrics.validated(ControlMetrics.begin(), false, true);
+        ControlMetrics.validated(ControlMetrics.begin(), true, false);
+        ControlMetrics.popupShown(ControlMetrics.begin());
+
+        //then
+        assertEquals(1, ControlMetrics.getTransitions());
+        assertEquals(1, ControlMetrics.getResizes());
+        assertEquals(2, ControlMetrics.getValidations());
+        assertEquals(1, ControlMetrics.getInvalidInputs());
+        assertEquals(1, ControlMetrics.getPopupShows());
+
+        // ohne registerMBean(): angemeldet wird schon beim Laden der Klasse
+        ObjectName name = new ObjectName(ControlMetrics.OBJECT_NAME);
+        assertEquals(2L, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Validations"));
+    }
+
+    @Test
+    void testFlightRecorderEvents() throws Exception {
+        //given
+        Path file = directory.resolve("controls.jfr");
+
+        //when
+        try (Recording recording = new Recording()) {
+            recording.enable("cuie.TachometerResize");
+            recording.enable("cuie.Validation");
+            recording.start();
+            ControlMetrics.tachometerResized(ControlMetrics.begin(), 300, 200);
+            ControlMetrics.validated(ControlMetrics.begin(), false, true);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        //then
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().equals("cuie.TachometerResize")
+                                                     && event.getDouble("width") == 300));
+        assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().equals("cuie.Validation")
+                                                     && !event.getBoolean("valid")));
+        assertEquals(0, ControlMetrics.getResizes(), "Zaehler sind aus");
+        assertEquals(0, ControlMetrics.begin(), "nach der Aufzeichnung wieder ohne Messung");
+    }
+
+    // ein Messwert und eine Messung pro Aufruf, wie bei einem Tachometer unter Last; liefert 0, solange begin()
+    // nie gemessen hat
+    private static long measure(int calls) {
+        long begins = 0;
+        for (int i = 0; i < calls; i++) {
+            ControlMetrics.tachometerValueUpdated(i);
+            long start = ControlMetrics.begin();
+            begins |= start;
+            ControlMetrics.baseColorApplied(start);
+        }
+        return begins;
+    }
+}
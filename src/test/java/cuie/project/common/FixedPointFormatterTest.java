@@ -0,0 +1,66 @@
+package cuie.project.common;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FixedPointFormatterTest {
+    private static final Locale CH = new Locale("de", "CH");
+
+    @Test
+    void testSameAsStringFormat() {
+        //given
+        FixedPointFormatter display = new FixedPointFormatter(CH, 2, false, " kW");
+        FixedPointFormatter integer = new FixedPointFormatter(CH, 0, true, "");
+        Random              random  = new Random(42);
+
+        for (int i = 0; i < 100_000; i++) {
+            double value = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(12));
+            long   count = random.nextLong() >> random.nextInt(64);
+
+            //when
+            String displayText = display.format(value);
+            String integerText = integer.format(count);
+
+            //then
+            assertEquals(String.format(CH, "%.2f kW", value), displayText);
+            assertEquals(String.format(CH, "%,d", count), integerText);
+        }
+    }
+
+    @Test
+    void testEdgeCases() {
+        //given
+        FixedPointFormatter integer = new FixedPointFormatter(CH, 0, true, "");
+        FixedPointFormatter display = new FixedPointFormatter(CH, 2, false, " kW");
+        // laengster moeglicher Text: alle Ziffern, Gruppierung und die maximale Anzahl Nachkommastellen
+        FixedPointFormatter widest  = new FixedPointFormatter(CH, 6, true, " kW");
+
+        //then
+        assertEquals(String.format(CH, "%,d", Long.MIN_VALUE), integer.format(Long.MIN_VALUE));
+        assertEquals(String.format(CH, "%,.6f kW", new BigDecimal(Long.MIN_VALUE)), widest.format(Long.MIN_VALUE));
+        assertEquals(String.format(CH, "%,.6f kW", new BigDecimal(Long.MAX_VALUE)), widest.format(Long.MAX_VALUE));
+        assertEquals(String.format(CH, "%,d", 0), integer.format(0));
+        assertEquals(String.format(CH, "%.2f kW", 0.125), display.format(0.125));
+        assertEquals(String.format(CH, "%.2f kW", 1e20), display.format(1e20));
+        assertEquals("NaN kW", display.format(Double.NaN));
+    }
+
+    @Test
+    void testUnchangedTextIsSameInstance() {
+        //given
+        FixedPointFormatter display = new FixedPointFormatter(CH, 2, false, " kW");
+
+        //when
+        String first  = display.format(1234.561);
+        String second = display.format(1234.559);
+
+        //then
+        assertSame(first, second);
+        assertNotSame(first, display.format(1234.57));
+    }
+}
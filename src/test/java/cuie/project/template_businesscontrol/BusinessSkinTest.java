@@ -0,0 +1,60 @@
+package cuie.project.template_businesscontrol;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.FlowPane;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import cuie.project.common.HeadlessFx;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BusinessSkinTest {
+    private static final int CONTROLS = 500;
+
+    @BeforeAll
+    static void startToolkit() {
+        HeadlessFx.startup();
+    }
+
+    @Test
+    void testIconsWithManyControlsInOneScene() {
+        //given
+        List<BusinessControl> controls = new ArrayList<>();
+
+        //when
+        HeadlessFx.run(() -> {
+            FlowPane root = new FlowPane();
+            for (int i = 0; i < CONTROLS; i++) {
+                controls.add(new BusinessControl());
+            }
+            root.getChildren().addAll(controls);
+            new Scene(root, 1000, 800);
+            root.applyCss();
+            root.layout();
+        });
+
+        //then
+        Map<Image, Boolean> images = new IdentityHashMap<>();
+        for (BusinessControl control : controls) {
+            Set<Node> icons = control.lookupAll(".image-view");
+            assertEquals(2, icons.size(), "jeder Skin hat seine eigenen Icons");
+
+            for (Node icon : icons) {
+                assertSame(control, icon.getParent().getParent());
+                images.put(((ImageView) icon).getImage(), true);
+            }
+        }
+        assertEquals(2, images.size(), "die Images werden nur einmal geladen");
+    }
+}
@@ -0,0 +1,37 @@
+package cuie.project.template_businesscontrol;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntegerConverterTest {
+
+    @Test
+    void testValidInput() {
+        //given
+        IntegerConverter converter = new IntegerConverter();
+
+        //when
+        Conversion conversion = converter.convert("12'345");
+
+        //then
+        assertTrue(conversion.isValid());
+        assertEquals(12345, conversion.getValue());
+        assertEquals(-1, conversion.getErrorIndex());
+        assertNull(conversion.getErrorMessage());
+    }
+
+    @Test
+    void testInvalidInputReportsPosition() {
+        //given
+        IntegerConverter converter = new IntegerConverter();
+
+        //when
+        Conversion conversion = converter.convert("12x4");
+
+        //then
+        assertFalse(conversion.isValid());
+        assertEquals(2, conversion.getErrorIndex());
+        assertEquals("Not an Integer (position 3)", conversion.getErrorMessage());
+    }
+}
@@ -0,0 +1,56 @@
+package cuie.project.template_businesscontrol;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntegerParserTest {
+
+    @Test
+    void testValidInput() {
+        //given
+        IntegerParser parser = new IntegerParser();
+
+        //then
+        assertTrue(parser.parse("42"));
+        assertEquals(42, parser.getValue());
+        assertEquals(-1, parser.getErrorIndex());
+
+        assertTrue(parser.parse("  -12'345 "));
+        assertEquals(-12345, parser.getValue());
+
+        assertTrue(parser.parse("+1’000’000"));
+        assertEquals(1_000_000, parser.getValue());
+
+        assertTrue(parser.parse("-2147483648"));
+        assertEquals(Integer.MIN_VALUE, parser.getValue());
+
+        assertTrue(parser.parse("0".repeat(100_000) + "7"));
+        assertEquals(7, parser.getValue());
+    }
+
+    @Test
+    void testInvalidInputReportsPosition() {
+        //given
+        IntegerParser parser = new IntegerParser();
+
+        //then
+        assertFalse(parser.parse("12x4"));
+        assertEquals(2, parser.getErrorIndex());
+
+        assertFalse(parser.parse("2147483648"));
+        assertEquals(9, parser.getErrorIndex());
+
+        assertFalse(parser.parse("1''000"));
+        assertEquals(2, parser.getErrorIndex());
+
+        assertFalse(parser.parse("'12"));
+        assertEquals(0, parser.getErrorIndex());
+
+        assertFalse(parser.parse("-"));
+        assertEquals(1, parser.getErrorIndex());
+
+        assertFalse(parser.parse(""));
+        assertFalse(parser.parse(null));
+    }
+}
@@ -0,0 +1,41 @@
+package cuie.project.template_simplecontrol;
+
+import javafx.scene.Scene;
+import javafx.scene.layout.StackPane;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import cuie.project.common.HeadlessFx;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SparklineTest {
+
+    @BeforeAll
+    static void startToolkit() {
+        HeadlessFx.startup();
+    }
+
+    @Test
+    void testRegisteredOnlyWhileInScene() {
+        //given
+        Tachometer tachometer = new Tachometer(Tachometer.RenderMode.NODES, 100);
+        Sparkline  sparkline  = new Sparkline(tachometer);
+        StackPane  root       = new StackPane();
+        boolean[]  registered = new boolean[2];
+
+        //when
+        HeadlessFx.run(() -> {
+            new Scene(root, 200, 50);
+            root.getChildren().add(sparkline);
+            registered[0] = PulseScheduler.isRegistered(sparkline);
+            root.getChildren().clear();
+            registered[1] = PulseScheduler.isRegistered(sparkline);
+        });
+
+        //then
+        assertTrue(registered[0]);
+        assertFalse(registered[1], "ausserhalb der Scene haelt nichts die Sparkline fest");
+    }
+}
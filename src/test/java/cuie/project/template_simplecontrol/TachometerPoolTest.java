@@ -0,0 +1,67 @@
+package cuie.project.template_simplecontrol;
+
+import javafx.scene.Scene;
+import javafx.scene.layout.StackPane;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import cuie.project.common.HeadlessFx;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TachometerPoolTest {
+
+    @BeforeAll
+    static void startToolkit() {
+        HeadlessFx.startup();
+    }
+
+    @Test
+    void testAcquireResetsReleasedTachometer() {
+        //given
+        TachometerPool pool     = new TachometerPool(Tachometer.RenderMode.NODES, 4);
+        Tachometer[]   acquired = new Tachometer[2];
+
+        //when
+        HeadlessFx.run(() -> {
+            acquired[0] = pool.acquire();
+            pool.release(acquired[0]);
+            // noch nicht uebernommener Messwert des vorherigen Models
+            acquired[0].submitValue(1234);
+            acquired[1] = pool.acquire();
+        });
+        HeadlessFx.run(() -> {});
+
+        //then
+        assertSame(acquired[0], acquired[1]);
+        assertEquals(1, pool.getCreated());
+        assertEquals(0, acquired[1].getValue(), "der Messwert des vorherigen Models wird verworfen");
+    }
+
+    @Test
+    void testDiscardedCellReleasesTachometer() {
+        //given
+        TachometerPool         pool        = new TachometerPool(Tachometer.RenderMode.NODES, 4);
+        TachometerCell<Double> cell        = new TachometerCell<>(pool, Tachometer::setValue, (tachometer, value) -> {});
+        StackPane              root        = new StackPane(cell);
+        Tachometer[]           tachometers = new Tachometer[2];
+        HeadlessFx.run(() -> {
+            new Scene(root, 300, 200);
+            cell.updateItem(1234.0, false);
+            tachometers[0] = cell.getTachometer();
+        });
+
+        //when
+        HeadlessFx.run(() -> {
+            // wie bei einer neuen CellFactory: die ListView entfernt die Zelle
+            root.getChildren().clear();
+            tachometers[1] = pool.acquire();
+        });
+
+        //then
+        assertNull(cell.getTachometer());
+        assertSame(tachometers[0], tachometers[1]);
+        assertEquals(1, pool.getCreated());
+    }
+}
@@ -0,0 +1,96 @@
+package cuie.project.template_simplecontrol;
+
+import javafx.scene.Scene;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import cuie.project.common.HeadlessFx;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TachometerTest {
+
+    @BeforeAll
+    static void startToolkit() {
+        HeadlessFx.startup();
+    }
+
+    @Test
+    void testBaseColorDefaultFromStylesheet() {
+        //given
+        Tachometer tachometer = new Tachometer();
+
+        //when
+        HeadlessFx.run(() -> {
+            new Scene(new StackPane(tachometer), 300, 200);
+            tachometer.applyCss();
+        });
+
+        //then
+        assertEquals(Color.rgb(62, 130, 247), tachometer.getBaseColor());
+    }
+
+    @Test
+    void testBaseColorFromCodeSurvivesCss() {
+        //given
+        Tachometer tachometer = new Tachometer();
+        StackPane  first      = new StackPane(tachometer);
+        StackPane  second     = new StackPane();
+        HeadlessFx.run(() -> {
+            new Scene(new HBox(first, second), 600, 200);
+            tachometer.applyCss();
+        });
+
+        //when
+        HeadlessFx.run(() -> {
+            tachometer.setBaseColor(Color.RED);
+            tachometer.applyCss();
+            // wie beim Recycling in TachometerCell: neuer Parent, CSS wird neu angewendet
+            second.getChildren().add(tachometer);
+            tachometer.applyCss();
+            tachometer.layout();
+        });
+
+        //then
+        assertEquals(Color.RED, tachometer.getBaseColor());
+    }
+
+    @Test
+    void testSubmitValueWithoutScene() {
+        //given
+        Tachometer tachometer = new Tachometer();
+
+        //when
+        tachometer.submitValue(1234);
+        tachometer.submitValue(2345);
+        // wartet, bis alles zuvor mit Platform.runLater Eingeplante erledigt ist
+        HeadlessFx.run(() -> {});
+
+        //then
+        assertEquals(2345, tachometer.getValue());
+        // je nachdem, ob der FX-Thread den ersten Wert schon uebernommen hatte
+        assertEquals(2, tachometer.getSamplesApplied() + tachometer.getSamplesDropped());
+    }
+
+    @Test
+    void testHistoryKeepsEverySubmittedValue() {
+        //given
+        Tachometer tachometer = new Tachometer(Tachometer.RenderMode.NODES, 100);
+
+        //when
+        for (int i = 1; i <= 10; i++) {
+            tachometer.submitValue(i * 100);
+        }
+        HeadlessFx.run(() -> {});
+
+        //then
+        ValueHistory history = tachometer.getHistory();
+        assertEquals(10, history.size(), "auch die nie ins valueProperty uebernommenen Werte");
+        assertEquals(1000, history.getValue(9));
+        assertFalse(new Tachometer().getHistory().isEnabled(), "ohne Angabe keine Historie");
+    }
+}
@@ -0,0 +1,103 @@
+package cuie.project.template_simplecontrol;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValueHistoryTest {
+
+    @Test
+    void testRingBufferKeepsNewestValues() {
+        //given
+        ValueHistory history = new ValueHistory(3);
+
+        //when
+        for (int i = 1; i <= 5; i++) {
+            history.add(i * 100, i);
+        }
+
+        //then
+        assertEquals(3, history.size());
+        assertEquals(3.0, history.getValue(0));
+        assertEquals(5.0, history.getValue(2));
+        assertEquals(500, history.getTime(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> history.getValue(3));
+    }
+
+    @Test
+    void testIncrementalDownsamplingMatchesRebuild() {
+        //given
+        ValueHistory history     = new ValueHistory(10_000);
+        Downsampler  incremental = history.downsample(50, 60_000);
+
+        //when
+        for (int i = 0; i < 10_000; i++) {
+            history.add(i * 17L, Math.sin(i * 0.01) * 1000);
+        }
+        Downsampler rebuilt = new ValueHistory(1).downsample(50, 60_000);
+        for (int i = 0; i < history.size(); i++) {
+            rebuilt.add(history.getTime(i), history.getValue(i));
+        }
+
+        //then
+        for (int column = 0; column < 50; column++) {
+            assertEquals(rebuilt.isEmpty(column), incremental.isEmpty(column));
+            if (!incremental.isEmpty(column)) {
+                assertEquals(rebuilt.getMin(column),     incremental.getMin(column));
+                assertEquals(rebuilt.getMax(column),     incremental.getMax(column));
+                assertEquals(rebuilt.getAverage(column), incremental.getAverage(column), 1e-9);
+            }
+        }
+        // die neueste Spalte enthaelt den letzten Messwert
+        assertFalse(incremental.isEmpty(49));
+        assertTrue(incremental.getMax(49) >= history.getValue(history.size() - 1));
+    }
+
+    @Test
+    void testOldValuesFallOutOfWindow() {
+        //given
+        ValueHistory history     = new ValueHistory(100);
+        Downsampler  downsampler = history.downsample(10, 1_000);
+
+        //when
+        history.add(0, 42);
+        history.add(5_000, 7);
+
+        //then
+        for (int column = 0; column < 9; column++) {
+            assertTrue(downsampler.isEmpty(column));
+        }
+        assertEquals(7.0, downsampler.getAverage(9));
+    }
+
+    @Test
+    void testWindowEndsNow() {
+        //given
+        ValueHistory history = new ValueHistory(100);
+        history.add(0, 42);
+        history.add(900, 43);
+
+        //when
+        Downsampler downsampler = history.downsample(10, 1_000, 1_450);
+
+        //then
+        assertEquals(43.0, downsampler.getAverage(4), "die Spalte von 900 bis 1000 ms");
+        for (int column = 5; column < 10; column++) {
+            assertTrue(downsampler.isEmpty(column), "seit dem letzten Messwert kam nichts mehr");
+        }
+    }
+
+    @Test
+    void testCapacityZeroKeepsNothing() {
+        //given
+        ValueHistory history = new ValueHistory(0);
+
+        //when
+        history.add(100, 42);
+
+        //then
+        assertFalse(history.isEnabled());
+        assertEquals(0, history.size());
+        assertThrows(IllegalArgumentException.class, () -> new ValueHistory(-1));
+    }
+}
@@ -0,0 +1,147 @@
+package cuie.project.template_simplecontrol.demo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParkAggregateTest {
+    private static final int TURBINES = 500;
+
+    @Test
+    void testConcurrentUpdates() throws InterruptedException {
+        //given
+        ParkAggregate park   = new ParkAggregate(TURBINES);
+        double[]      values = new double[TURBINES];
+        boolean[]     on     = new boolean[TURBINES];
+
+        //when
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int first = t;
+            threads.add(new Thread(() -> {
+                Random random = new Random(first);
+                // jeder Thread hat seine eigenen Turbinen, der letzte Messwert ist also bekannt
+                for (int i = 0; i < 100_000; i++) {
+                    int turbine = first + 4 * random.nextInt(TURBINES / 4);
+                    values[turbine] = random.nextInt(40_000_000) / 1000.0;
+                    on[turbine]     = random.nextBoolean();
+                    park.update(turbine, values[turbine], on[turbine]);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        ParkSnapshot snapshot = park.takeSnapshot();
+
+        //then
+        double sum     = 0;
+        double min     = Double.POSITIVE_INFINITY;
+        double max     = Double.NEGATIVE_INFINITY;
+        long   running = 0;
+        for (int i = 0; i < TURBINES; i++) {
+            sum += values[i];
+            min  = Math.min(min, values[i]);
+            max  = Math.max(max, values[i]);
+            running += on[i] ? 1 : 0;
+        }
+        assertEquals(TURBINES, snapshot.getReporting());
+        assertEquals(running,  snapshot.getRunning());
+        assertEquals(sum,      snapshot.getOutput(), 1e-6);
+        assertEquals(min,      snapshot.getMin());
+        assertEquals(max,      snapshot.getMax());
+    }
+
+    @Test
+    void testExtremesAfterDecrease() {
+        //given
+        ParkAggregate park = new ParkAggregate(3);
+        park.update(0, 10, true);
+        park.update(1, 20, true);
+        park.update(2, 30, false);
+        assertEquals(30, park.takeSnapshot().getMax());
+
+        //when
+        park.update(2, 5, false);
+        ParkSnapshot snapshot = park.takeSnapshot();
+
+        //then
+        assertEquals(5,  snapshot.getMin());
+        assertEquals(20, snapshot.getMax());
+        assertEquals(35, snapshot.getOutput());
+        assertEquals(2,  snapshot.getRunning());
+        assertEquals(1,  snapshot.getStopped());
+    }
+
+    @Test
+    void testUpdateDuringSnapshot() throws Exception {
+        //given
+        int           turbines = 100_000;
+        int           rounds   = 300;
+        ParkAggregate park     = new ParkAggregate(turbines);
+        for (int turbine = 0; turbine < turbines; turbine++) {
+            park.update(turbine, 50, true);
+        }
+        park.update(1, 100, true);
+        long scan = 1;
+        for (int i = 0; i < 100; i++) {
+            park.update(turbines - 1, i % 2, true);
+            long start = System.nanoTime();
+            park.takeSnapshot();
+            scan = Math.max(System.nanoTime() - start, 1);
+        }
+        long          scanNanos = scan;
+        // gestartet wird jede Runde ohne Parken, damit das Update wirklich in die Suche faellt
+        AtomicInteger started   = new AtomicInteger(-1);
+        CyclicBarrier finished  = new CyclicBarrier(2);
+        Thread        updater   = new Thread(() -> {
+            Random random = new Random(42);
+            try {
+                for (int i = 0; i < rounds; i++) {
+                    while (started.get() < i) {
+                        Thread.onSpinWait();
+                    }
+                    // irgendwann waehrend der Suche, oft nachdem sie den Slot schon gelesen hat
+                    long until = System.nanoTime() + (long) (random.nextDouble() * scanNanos);
+                    while (System.nanoTime() < until) {
+                        Thread.onSpinWait();
+                    }
+                    // innerhalb der alten Extremwerte, der alte Wert war keiner
+                    park.update(0, 5, true);
+                    finished.await();
+                }
+            } catch (InterruptedException | BrokenBarrierException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        // bleibt bei einem fehlgeschlagenen assert in await haengen
+        updater.setDaemon(true);
+        updater.start();
+
+        //when
+        for (int i = 0; i < rounds; i++) {
+            park.update(turbines - 1, 0, true);
+            park.takeSnapshot();
+            park.update(0, 50, true);
+            // das bisherige Minimum steigt, die naechste Suche laeuft sicher
+            park.update(turbines - 1, 10, true);
+            started.set(i);
+            park.takeSnapshot();
+            finished.await();
+
+            //then
+            assertEquals(5, park.takeSnapshot().getMin(), "Runde " + i);
+        }
+        updater.join();
+    }
+}
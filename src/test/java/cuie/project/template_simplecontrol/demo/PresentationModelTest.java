@@ -0,0 +1,75 @@
+package cuie.project.template_simplecontrol.demo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import javafx.beans.Observable;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PresentationModelTest {
+
+    @Test
+    void testOneInvalidationPerUpdate() {
+        //given
+        PresentationModel pm      = new PresentationModel();
+        int[]             samples = new int[1];
+        pm.sampleProperty().addListener((observable, oldSample, sample) -> samples[0]++);
+
+        //when
+        pm.update(new TelemetrySample(1000, false, 10, 30000));
+        pm.update(new TelemetrySample(2000, true, 10, 30000));
+        pm.update(new TelemetrySample(3000, true, 0, 40000));
+
+        //then
+        assertEquals(3, samples[0]);
+        assertEquals(3000, pm.getSample().getValue());
+    }
+
+    @Test
+    void testFieldsFireOnceWithCompleteSample() {
+        //given
+        PresentationModel pm            = new PresentationModel();
+        List<Observable>  invalidations = new ArrayList<>();
+        List<String>      seen          = new ArrayList<>();
+        for (Observable field : new Observable[]{pm.pmValueProperty(), pm.runningProperty(), pm.minProperty(), pm.maxProperty()}) {
+            field.addListener(observable -> {
+                invalidations.add(observable);
+                // jede Benachrichtigung sieht den ganzen neuen Messwert
+                seen.add(pm.getPmValue() + " " + pm.getRunning() + " " + pm.getMin() + " " + pm.getMax());
+            });
+        }
+
+        //when
+        pm.update(new TelemetrySample(1000, false, 10, 30000));
+
+        //then
+        assertEquals(List.of(pm.minProperty(), pm.maxProperty(), pm.runningProperty(), pm.pmValueProperty()), invalidations);
+        assertEquals(Set.of("1000.0 false 10.0 30000.0"), Set.copyOf(seen));
+
+        //when
+        invalidations.clear();
+        pm.update(new TelemetrySample(2000, false, 10, 30000));
+
+        //then
+        assertEquals(List.of(pm.pmValueProperty()), invalidations, "nur was sich geaendert hat");
+    }
+
+    @Test
+    void testSingleFieldChangesSample() {
+        //given
+        PresentationModel pm = new PresentationModel();
+        pm.update(new TelemetrySample(1000, true, 0, 40000));
+
+        //when
+        pm.setPmValue(1500);
+        pm.setPmValue(1600);
+
+        //then
+        assertEquals(1600, pm.getSample().getValue());
+        assertTrue(pm.getSample().isRunning());
+    }
+}
@@ -0,0 +1,90 @@
+package cuie.project.template_simplecontrol.telemetry;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TelemetryLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRecordsAcrossSegments() throws IOException {
+        //given
+        Path file = directory.resolve("park.tlog");
+        try (TelemetryLogWriter writer = new TelemetryLogWriter(file)) {
+            for (int i = 0; i < 100; i++) {
+                writer.append(1000 + i * 10, i % 7, i * 1.5, i % 2 == 0);
+            }
+        }
+
+        //when
+        try (TelemetryLog log = TelemetryLog.open(file, 8, 4)) {
+
+            //then
+            assertEquals(100, log.size());
+            assertEquals(1000, log.getStartTime());
+            assertEquals(1990, log.getEndTime());
+            assertEquals(1570, log.getTime(57));
+            assertEquals(57 % 7, log.getTurbine(57));
+            assertEquals(85.5, log.getValue(57));
+            assertFalse(log.isRunning(57));
+            assertTrue(log.isRunning(58));
+            assertThrows(IndexOutOfBoundsException.class, () -> log.getTime(100));
+        }
+    }
+
+    @Test
+    void testIndexOf() throws IOException {
+        //given
+        Path file = directory.resolve("park.tlog");
+        try (TelemetryLogWriter writer = new TelemetryLogWriter(file)) {
+            // je drei Records mit gleichem Zeitpunkt: 0, 0, 0, 10, 10, 10, ...
+            for (int i = 0; i < 99; i++) {
+                writer.append(i / 3 * 10, i % 3, i, true);
+            }
+        }
+
+        //when
+        try (TelemetryLog log = TelemetryLog.open(file, 16, 4)) {
+
+            //then
+            assertEquals(0,  log.indexOf(-5));
+            assertEquals(0,  log.indexOf(0));
+            assertEquals(3,  log.indexOf(1));
+            assertEquals(3,  log.indexOf(10));
+            assertEquals(48, log.indexOf(160));
+            assertEquals(51, log.indexOf(165));
+            assertEquals(96, log.indexOf(320));
+            assertEquals(99, log.indexOf(321));
+        }
+    }
+
+    @Test
+    void testIncompleteLastRecordIsIgnored() throws IOException {
+        //given
+        Path file = directory.resolve("park.tlog");
+        try (TelemetryLogWriter writer = new TelemetryLogWriter(file)) {
+            writer.append(1, 0, 1, true);
+            writer.append(2, 0, 2, true);
+        }
+        byte[] bytes = Files.readAllBytes(file);
+
+        //when
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+
+        //then
+        try (TelemetryLog log = TelemetryLog.open(file)) {
+            assertEquals(1, log.size());
+        }
+        Files.write(file, new byte[]{1, 2, 3});
+        assertThrows(IOException.class, () -> TelemetryLog.open(file));
+    }
+}
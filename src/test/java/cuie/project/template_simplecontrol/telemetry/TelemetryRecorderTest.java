@@ -0,0 +1,69 @@
+package cuie.project.template_simplecontrol.telemetry;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TelemetryRecorderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRecordingRoundTrip() throws IOException {
+        //given
+        Path              file     = directory.resolve("park.trec");
+        TelemetryRecorder recorder = new TelemetryRecorder(file);
+        List<String>      expected = new ArrayList<>();
+
+        //when
+        for (int i = 0; i < 3 * TelemetryRecorder.BLOCK_SAMPLES + 17; i++) {
+            int     turbine = i * 7 % 2000;
+            float   value   = 20_000 + i % 301 * 0.25f;
+            boolean running = turbine % 10 != 0;
+            while (!recorder.record(turbine, value, running)) {
+                Thread.onSpinWait();
+            }
+            expected.add(turbine + " " + value + " " + running);
+        }
+        recorder.close();
+
+        //then
+        List<String> actual = new ArrayList<>();
+        long         read   = TelemetryRecording.read(file, (time, turbine, value, running) ->
+                actual.add(turbine + " " + (float) value + " " + running));
+        assertEquals(expected.size(), read);
+        assertEquals(expected, actual);
+        assertTrue(recorder.getBytesWritten() < expected.size() * TelemetryLog.RECORD_BYTES / 2, "delta-kodiert und komprimiert");
+        assertFalse(recorder.record(1, 1, true), "geschlossen");
+    }
+
+    @Test
+    void testIncompleteLastBlockIsIgnored() throws IOException {
+        //given
+        Path              file     = directory.resolve("park.trec");
+        TelemetryRecorder recorder = new TelemetryRecorder(file);
+        for (int i = 0; i < 2 * TelemetryRecorder.BLOCK_SAMPLES; i++) {
+            while (!recorder.record(i % 100, i, true)) {
+                Thread.onSpinWait();
+            }
+        }
+        recorder.close();
+        byte[] bytes = Files.readAllBytes(file);
+
+        //when
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+
+        //then
+        long read = TelemetryRecording.read(file, (time, turbine, value, running) -> { });
+        assertTrue(read > 0 && read < 2 * TelemetryRecorder.BLOCK_SAMPLES);
+    }
+}
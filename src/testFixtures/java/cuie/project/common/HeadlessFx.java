@@ -0,0 +1,86 @@
+package cuie.project.common;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import javafx.application.Platform;
+
+/**
+ * Startet das JavaFX-Toolkit ohne Bildschirm (Monocle Headless, Software-Rendering) fuer Tests und Benchmarks.
+ *
+ * Die System-Properties werden nur gesetzt, falls sie nicht schon beim Start der JVM angegeben wurden; so kann
+ * ein Benchmark oder Test bei Bedarf auch gegen die echte Grafik-Pipeline laufen.
+ */
+public final class HeadlessFx {
+    private static boolean started;
+
+    private HeadlessFx() {
+    }
+
+    public static synchronized void startup() {
+        if (started) {
+            return;
+        }
+        setIfAbsent("glass.platform",   "Monocle");
+        setIfAbsent("monocle.platform", "Headless");
+        setIfAbsent("prism.order",      "sw");
+        setIfAbsent("prism.text",       "t2k");
+
+        CountDownLatch latch = new CountDownLatch(1);
+        try {
+            Platform.startup(latch::countDown);
+        } catch (IllegalStateException alreadyRunning) {
+            latch.countDown();
+        }
+        Platform.setImplicitExit(false);
+        await(latch);
+        started = true;
+    }
+
+    /**
+     * Fuehrt action im FX-Thread aus und wartet auf das Resultat.
+     */
+    public static <T> T call(Callable<T> action) {
+        if (Platform.isFxApplicationThread()) {
+            try {
+                return action.call();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        FutureTask<T> task = new FutureTask<>(action);
+        Platform.runLater(task);
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public static void run(Runnable action) {
+        call(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private static void setIfAbsent(String key, String value) {
+        if (System.getProperty(key) == null) {
+            System.setProperty(key, value);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}